@@ -0,0 +1,89 @@
+package space.yong.orkes.benchmarks;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import space.yong.orkes.config.GoogleFilter;
+import space.yong.orkes.config.TokenCacheConfig;
+import space.yong.orkes.config.TokenCacheConfig.CachedToken;
+import space.yong.orkes.fixtures.GoogleTokens;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoogleFilterBenchmark {
+    private static final String AUDIENCE = "benchmark-client";
+    private static final FilterChain CHAIN = (request, response) -> {};
+
+    private ExecutorService executor;
+    private AsyncCache<String, CachedToken> tokenCache;
+    private GoogleFilter filter;
+    private String token;
+
+    @Setup
+    public void setup() throws ServletException, IOException {
+        var tokens = new GoogleTokens();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        tokenCache = new TokenCacheConfig().tokenCache(executor, new SimpleMeterRegistry());
+        var verifiers = new StaticListableBeanFactory(Map.of("googleIdTokenVerifier", tokens.verifier(AUDIENCE)));
+        filter = new GoogleFilter(tokenCache, verifiers.getBeanProvider(GoogleIdTokenVerifier.class));
+        token = tokens.sign("benchmark@example.com", AUDIENCE, Duration.ofHours(1));
+        if (filter() != 200) {
+            throw new IllegalStateException("Fixture token was rejected");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public int cacheHit() throws ServletException, IOException {
+        return filter();
+    }
+
+    @Benchmark
+    public int cacheMiss() throws ServletException, IOException {
+        tokenCache.synchronous().invalidateAll();
+        return filter();
+    }
+
+    private int filter() throws ServletException, IOException {
+        var request = new MockHttpServletRequest("GET", "/demo/api/human-tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        var response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,38 @@
+package space.yong.orkes.benchmarks;
+
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import space.yong.orkes.fixtures.RecordedInvoices;
+import space.yong.orkes.services.AzureAiService.Invoice;
+import space.yong.orkes.services.InvoiceMapper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceMapperBenchmark {
+    private Map<String, DocumentField> fields;
+
+    @Setup
+    public void setup() {
+        fields = RecordedInvoices.fields();
+    }
+
+    @Benchmark
+    public Invoice toInvoice() {
+        return InvoiceMapper.toInvoice(fields);
+    }
+}
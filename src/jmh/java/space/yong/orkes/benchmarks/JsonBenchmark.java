@@ -0,0 +1,74 @@
+package space.yong.orkes.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.netflix.conductor.common.run.Workflow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import space.yong.orkes.fixtures.Payloads;
+import space.yong.orkes.services.ExecutionWatcher;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+    private static final TypeReference<Map<String, Object>> INPUT_TYPE = new TypeReference<>() {};
+    private static final List<String> PROJECTION = List.of("workflowId", "status", "output", "tasks.0.status");
+
+    private ObjectMapper objectMapper;
+    private byte[] inputBytes;
+    private byte[] executionBytes;
+    private Map<String, Object> input;
+    private Workflow execution;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        inputBytes = Payloads.workflowInput();
+        executionBytes = Payloads.execution();
+        input = objectMapper.readValue(inputBytes, INPUT_TYPE);
+        execution = objectMapper.readValue(executionBytes, Workflow.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> readInput() throws IOException {
+        return objectMapper.readValue(inputBytes, INPUT_TYPE);
+    }
+
+    @Benchmark
+    public byte[] writeInput() throws IOException {
+        return objectMapper.writeValueAsBytes(input);
+    }
+
+    @Benchmark
+    public Workflow readExecution() throws IOException {
+        return objectMapper.readValue(executionBytes, Workflow.class);
+    }
+
+    @Benchmark
+    public byte[] writeExecution() throws IOException {
+        return objectMapper.writeValueAsBytes(execution);
+    }
+
+    @Benchmark
+    public ObjectNode projectExecution() throws IOException {
+        return ExecutionWatcher.project(objectMapper.readTree(executionBytes), PROJECTION);
+    }
+}
@@ -0,0 +1,133 @@
+package space.yong.orkes.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.netflix.conductor.common.run.Workflow;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import space.yong.orkes.fixtures.Payloads;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassthroughBenchmark {
+    @Param({"1", "64"})
+    private int taskCopies;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private OkHttpClient httpClient;
+    private ObjectMapper objectMapper;
+    private Request request;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var execution = (ObjectNode) objectMapper.readTree(Payloads.execution());
+        var tasks = (ArrayNode) execution.path("tasks");
+        var copies = tasks.deepCopy();
+        for (int i = 1; i < taskCopies; i++) {
+            tasks.addAll(copies.deepCopy());
+        }
+        var identity = objectMapper.writeValueAsBytes(execution);
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(identity);
+        }
+        var gzipped = compressed.toByteArray();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 128);
+        server.setExecutor(executor);
+        server.createContext("/api/workflow/", exchange -> serve(exchange, identity, gzipped));
+        server.start();
+        httpClient = new OkHttpClient();
+        var builder = new Request.Builder().url("http://localhost:" + server.getAddress().getPort() + "/api/workflow/benchmark");
+        if (encoding.equals("gzip")) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        request = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+        server.stop(0);
+        executor.close();
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        try (var upstream = httpClient.newCall(request).execute()) {
+            return upstream.body().byteStream().transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public long buffer() throws IOException {
+        try (var upstream = httpClient.newCall(request).execute()) {
+            var body = upstream.body().bytes();
+            OutputStream.nullOutputStream().write(body);
+            return body.length;
+        }
+    }
+
+    @Benchmark
+    public long reserialize() throws IOException {
+        try (var upstream = httpClient.newCall(request).execute()) {
+            InputStream in = upstream.body().byteStream();
+            if ("gzip".equals(upstream.header("Content-Encoding"))) {
+                in = new GZIPInputStream(in);
+            }
+            var workflow = objectMapper.readValue(in, Workflow.class);
+            objectMapper.writeValue(OutputStream.nullOutputStream(), workflow);
+            return workflow.getTasks().size();
+        }
+    }
+
+    private static void serve(HttpExchange exchange, byte[] identity, byte[] gzipped) throws IOException {
+        try (exchange) {
+            var acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            var body = identity;
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzipped;
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
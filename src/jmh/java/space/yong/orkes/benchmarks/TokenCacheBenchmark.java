@@ -0,0 +1,81 @@
+package space.yong.orkes.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import space.yong.orkes.config.TokenCacheConfig;
+import space.yong.orkes.config.TokenCacheConfig.CachedToken;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TokenCacheBenchmark {
+    @Param({"1024"})
+    private int keys;
+
+    private ExecutorService executor;
+    private Cache<String, CachedToken> cache;
+    private String[] rawTokens;
+    private String[] digests;
+    private CachedToken[] tokens;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        cache = new TokenCacheConfig().tokenCache(executor, new SimpleMeterRegistry()).synchronous();
+        rawTokens = new String[keys];
+        digests = new String[keys];
+        tokens = new CachedToken[keys];
+        var now = Instant.now();
+        for (int i = 0; i < keys; i++) {
+            rawTokens[i] = "eyJhbGciOiJSUzI1NiJ9.benchmark-" + i + ".signature";
+            digests[i] = TokenCacheConfig.digest(rawTokens[i]);
+            tokens[i] = new CachedToken("user" + i + "@example.com", now.plusSeconds(600 + i));
+            cache.put(digests[i], tokens[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public CachedToken create() {
+        int i = ThreadLocalRandom.current().nextInt(keys);
+        cache.invalidate(digests[i]);
+        cache.put(digests[i], tokens[i]);
+        return tokens[i];
+    }
+
+    @Benchmark
+    public CachedToken read() {
+        return cache.getIfPresent(digests[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public String digest() {
+        return TokenCacheConfig.digest(rawTokens[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
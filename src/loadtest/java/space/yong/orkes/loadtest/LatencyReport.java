@@ -0,0 +1,100 @@
+package space.yong.orkes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyReport {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public enum Outcome { SUCCESS, THROTTLED, ERROR }
+
+    public record Row(
+        String endpoint, long requests, long throttled, long errors, double throughput,
+        double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis
+    ) {}
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public void record(String endpoint, long nanos, Outcome outcome) {
+        var target = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        target.latency.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+        switch (outcome) {
+            case THROTTLED -> target.throttled.increment();
+            case ERROR -> target.errors.increment();
+            case SUCCESS -> {}
+        }
+    }
+
+    public List<Row> rows(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        return endpoints.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> {
+                var latency = entry.getValue().latency;
+                return new Row(
+                    entry.getKey(),
+                    latency.getTotalCount(),
+                    entry.getValue().throttled.sum(),
+                    entry.getValue().errors.sum(),
+                    latency.getTotalCount() / seconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue())
+                );
+            })
+            .toList();
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        var rows = rows(elapsed);
+        out.printf("%-28s %9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "throttled", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long requests = 0;
+        long throttled = 0;
+        long errors = 0;
+        for (var row : rows) {
+            out.printf("%-28s %9d %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                row.endpoint(), row.requests(), row.throttled(), row.errors(), row.throughput(),
+                row.p50Millis(), row.p90Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis());
+            requests += row.requests();
+            throttled += row.throttled();
+            errors += row.errors();
+        }
+        out.printf("%-28s %9d %9d %7d %9.1f%n", "total", requests, throttled, errors, requests / (elapsed.toNanos() / 1e9));
+    }
+
+    public void writeJson(Path file, Duration elapsed, Map<String, Object> settings) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(file.toFile(), Map.of(
+                "elapsedSeconds", elapsed.toNanos() / 1e9,
+                "settings", settings,
+                "endpoints", rows(elapsed)
+            ));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
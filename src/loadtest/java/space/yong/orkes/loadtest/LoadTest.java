@@ -0,0 +1,80 @@
+package space.yong.orkes.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import space.yong.orkes.App;
+import space.yong.orkes.fixtures.GoogleTokens;
+import space.yong.orkes.loadtest.StubServer.Faults;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@Slf4j
+public class LoadTest {
+    private static final String CLIENT_ID = "loadtest-client";
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        int principals = Integer.getInteger("loadtest.principals", 20);
+        var warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        var duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        boolean passthrough = Boolean.parseBoolean(System.getProperty("loadtest.passthrough", "true"));
+        boolean rateLimits = Boolean.parseBoolean(System.getProperty("loadtest.rate-limits", "false"));
+        var results = Path.of(System.getProperty("loadtest.results", "build/results/loadtest/results.json"));
+        var googleTokens = new GoogleTokens();
+
+        try (var conductor = Stubs.conductor(Faults.fromSystemProperties("stub.conductor")).start();
+             var azure = Stubs.azure(Faults.fromSystemProperties("stub.azure")).start();
+             var google = Stubs.googleCerts(googleTokens, Faults.fromSystemProperties("stub.google")).start();
+             var app = start(conductor, azure, google, passthrough, rateLimits)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            var tokens = IntStream.range(0, principals)
+                .mapToObj(i -> googleTokens.sign("user" + i + "@loadtest.example.com", CLIENT_ID, duration.plus(warmup).plusHours(1)))
+                .toList();
+            var traffic = new Traffic(URI.create("http://localhost:" + port + "/demo/api/"), tokens);
+
+            log.info("Warming up with {} users for {}", users, warmup);
+            traffic.run(users, warmup);
+            log.info("Measuring with {} users for {}", users, duration);
+            long start = System.nanoTime();
+            var report = traffic.run(users, duration);
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            report.print(System.out, elapsed);
+            var settings = new LinkedHashMap<String, Object>();
+            settings.put("users", users);
+            settings.put("principals", principals);
+            settings.put("duration", duration.toString());
+            settings.put("passthrough", passthrough);
+            settings.put("rateLimits", rateLimits);
+            for (var stub : new StubServer[] {conductor, azure, google}) {
+                settings.put(stub.name(), Map.of("requests", stub.requests(), "injectedErrors", stub.injectedErrors()));
+            }
+            report.writeJson(results, elapsed, settings);
+            log.info("Wrote {}", results.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(StubServer conductor, StubServer azure, StubServer google, boolean passthrough, boolean rateLimits) {
+        return new SpringApplicationBuilder(App.class)
+            .properties(Map.ofEntries(
+                Map.entry("server.port", "0"),
+                Map.entry("conductor.server.url", conductor.url() + "/api"),
+                Map.entry("conductor.security.client.key-id", "loadtest"),
+                Map.entry("conductor.security.client.secret", "loadtest"),
+                Map.entry("azure-doc-intel.endpoint", azure.url()),
+                Map.entry("azure-doc-intel.key", "loadtest"),
+                Map.entry("google.certs-url", google.url() + "/oauth2/v1/certs"),
+                Map.entry("google.client-id", CLIENT_ID),
+                Map.entry("search-executions.cursor-key", "loadtest"),
+                Map.entry("conductor.passthrough.enabled", String.valueOf(passthrough)),
+                Map.entry("rate-limits.enabled", String.valueOf(rateLimits))
+            ))
+            .run();
+    }
+}
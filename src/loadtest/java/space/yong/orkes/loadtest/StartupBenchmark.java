@@ -0,0 +1,150 @@
+package space.yong.orkes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import space.yong.orkes.fixtures.GoogleTokens;
+import space.yong.orkes.loadtest.StubServer.Faults;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class StartupBenchmark {
+    private static final String CLIENT_ID = "startup-client";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private record Mode(String name, List<String> jvmArgs, List<String> launch) {}
+    public record Sample(String mode, int run, double readyMillis, double firstRequestMillis) {}
+    public record Summary(String mode, double medianReadyMillis, double medianFirstRequestMillis, double minFirstRequestMillis, double maxFirstRequestMillis) {}
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        var bootJar = Path.of(System.getProperty("startup.boot-jar"));
+        var extractedJar = Path.of(System.getProperty("startup.extracted-jar"));
+        var aotCache = Path.of(System.getProperty("startup.aot-cache"));
+        var results = Path.of(System.getProperty("startup.results", "build/results/startup/results.json"));
+        var java = ProcessHandle.current().info().command().orElse("java");
+        var googleTokens = new GoogleTokens();
+        var noFaults = new Faults(Duration.ZERO, Duration.ZERO, 0);
+
+        var modes = new ArrayList<Mode>();
+        modes.add(new Mode("jar", List.of(), List.of("-jar", bootJar.toString())));
+        modes.add(new Mode("aot", List.of("-Dspring.aot.enabled=true"), List.of("-cp", extractedJar.toString(), "space.yong.orkes.App")));
+        if (Files.exists(aotCache)) {
+            modes.add(new Mode("aot-cache", List.of("-Dspring.aot.enabled=true", "-XX:AOTCache=" + aotCache), List.of("-cp", extractedJar.toString(), "space.yong.orkes.App")));
+        }
+
+        var httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        var samples = new ArrayList<Sample>();
+        try (var conductor = Stubs.conductor(noFaults).start();
+             var azure = Stubs.azure(noFaults).start();
+             var google = Stubs.googleCerts(googleTokens, noFaults).start()) {
+            var token = googleTokens.sign("startup@example.com", CLIENT_ID, Duration.ofHours(1));
+            for (var mode : modes) {
+                for (int run = 1; run <= runs; run++) {
+                    int port = freePort();
+                    var command = new ArrayList<String>();
+                    command.add(java);
+                    command.add("--sun-misc-unsafe-memory-access=allow");
+                    command.addAll(mode.jvmArgs());
+                    command.addAll(mode.launch());
+                    command.add("--server.port=" + port);
+                    command.add("--conductor.server.url=" + conductor.url() + "/api");
+                    command.add("--conductor.security.client.key-id=startup");
+                    command.add("--conductor.security.client.secret=startup");
+                    command.add("--azure-doc-intel.endpoint=" + azure.url());
+                    command.add("--azure-doc-intel.key=startup");
+                    command.add("--google.certs-url=" + google.url() + "/oauth2/v1/certs");
+                    command.add("--google.client-id=" + CLIENT_ID);
+                    command.add("--search-executions.cursor-key=startup");
+                    var logFile = results.resolveSibling(mode.name() + "-" + run + ".log");
+                    Files.createDirectories(logFile.toAbsolutePath().getParent());
+
+                    long start = System.nanoTime();
+                    var process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile.toFile()).start();
+                    try {
+                        var base = "http://localhost:" + port + "/demo/api/";
+                        awaitOk(httpClient, HttpRequest.newBuilder(URI.create(base + "actuator/health")).build(), process);
+                        long ready = System.nanoTime();
+                        awaitOk(httpClient, HttpRequest.newBuilder(URI.create(base + "workflow-def/invoice_approval"))
+                            .header("Authorization", "Bearer " + token)
+                            .build(), process);
+                        long firstRequest = System.nanoTime();
+                        var sample = new Sample(mode.name(), run, millis(ready - start), millis(firstRequest - start));
+                        log.info("{}", sample);
+                        samples.add(sample);
+                    } finally {
+                        process.destroy();
+                        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                            process.destroyForcibly();
+                        }
+                    }
+                }
+            }
+        }
+
+        var summaries = modes.stream().map(mode -> summarize(mode.name(), samples)).toList();
+        System.out.printf("%-10s %14s %20s %12s %12s%n", "mode", "ready ms (p50)", "first request (p50)", "min", "max");
+        for (var summary : summaries) {
+            System.out.printf("%-10s %14.0f %20.0f %12.0f %12.0f%n", summary.mode(), summary.medianReadyMillis(),
+                summary.medianFirstRequestMillis(), summary.minFirstRequestMillis(), summary.maxFirstRequestMillis());
+        }
+        var report = new LinkedHashMap<String, Object>();
+        report.put("runs", runs);
+        report.put("summary", summaries);
+        report.put("samples", samples);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(results.toFile(), report);
+        log.info("Wrote {}", results.toAbsolutePath());
+    }
+
+    private static void awaitOk(HttpClient httpClient, HttpRequest request, Process process) throws IOException, InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(request, BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new TimeoutException("No 200 from " + request.uri() + " within " + START_TIMEOUT);
+    }
+
+    private static Summary summarize(String mode, List<Sample> samples) {
+        var ready = samples.stream().filter(s -> s.mode().equals(mode)).mapToDouble(Sample::readyMillis).sorted().toArray();
+        var first = samples.stream().filter(s -> s.mode().equals(mode)).mapToDouble(Sample::firstRequestMillis).sorted().toArray();
+        return new Summary(mode, median(ready), median(first), first[0], first[first.length - 1]);
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package space.yong.orkes.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class StubServer implements AutoCloseable {
+    private final String name;
+    private final Faults faults;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Route> routes = new ArrayList<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    public record Faults(Duration latency, Duration jitter, double errorRate) {
+        public static Faults fromSystemProperties(String prefix) {
+            return new Faults(
+                Duration.ofMillis(Long.getLong(prefix + ".latency-ms", Long.getLong("stub.latency-ms", 20))),
+                Duration.ofMillis(Long.getLong(prefix + ".jitter-ms", Long.getLong("stub.jitter-ms", 10))),
+                Double.parseDouble(System.getProperty(prefix + ".error-rate", System.getProperty("stub.error-rate", "0")))
+            );
+        }
+
+        private long delayMillis() {
+            long jitter = jitter().toMillis();
+            return latency().toMillis() + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        }
+    }
+
+    public record Reply(int status, String contentType, byte[] body, Map<String, String> headers) {
+        public static Reply json(byte[] body) {
+            return new Reply(200, "application/json", body, Map.of());
+        }
+
+        public static Reply json(String body) {
+            return json(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Reply text(String body) {
+            return new Reply(200, "text/plain", body.getBytes(StandardCharsets.UTF_8), Map.of());
+        }
+
+        public static Reply empty(int status) {
+            return new Reply(status, null, new byte[0], Map.of());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        Reply handle(HttpExchange exchange, Matcher path) throws IOException;
+    }
+
+    private record Route(String method, Pattern path, Handler handler, boolean faulty) {}
+
+    public StubServer(String name, Faults faults) throws IOException {
+        this.name = name;
+        this.faults = faults;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+    }
+
+    public StubServer route(String method, String pathRegex, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(pathRegex), handler, true));
+        return this;
+    }
+
+    public StubServer reliableRoute(String method, String pathRegex, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(pathRegex), handler, false));
+        return this;
+    }
+
+    public StubServer start() {
+        server.start();
+        log.info("{} stub listening on {} ({})", name, url(), faults);
+        return this;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            var path = exchange.getRequestURI().getPath();
+            for (var route : routes) {
+                var matcher = route.path().matcher(path);
+                if (!route.method().equals(exchange.getRequestMethod()) || !matcher.matches()) {
+                    continue;
+                }
+                if (route.faulty()) {
+                    Thread.sleep(Math.max(0, faults.delayMillis()));
+                    if (ThreadLocalRandom.current().nextDouble() < faults.errorRate()) {
+                        injectedErrors.incrementAndGet();
+                        send(exchange, new Reply(503, "application/json", "{\"message\":\"injected\"}".getBytes(StandardCharsets.UTF_8), Map.of()));
+                        return;
+                    }
+                }
+                send(exchange, route.handler().handle(exchange, matcher));
+                return;
+            }
+            log.warn("{} stub has no route for {} {}", name, exchange.getRequestMethod(), path);
+            send(exchange, Reply.empty(404));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("{} stub failed", name, e);
+        }
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        if (reply.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", reply.contentType());
+        }
+        reply.headers().forEach(exchange.getResponseHeaders()::set);
+        exchange.sendResponseHeaders(reply.status(), reply.body().length == 0 ? -1 : reply.body().length);
+        if (reply.body().length > 0) {
+            exchange.getResponseBody().write(reply.body());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package space.yong.orkes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import space.yong.orkes.fixtures.GoogleTokens;
+import space.yong.orkes.fixtures.Payloads;
+import space.yong.orkes.fixtures.RecordedInvoices;
+import space.yong.orkes.loadtest.StubServer.Faults;
+import space.yong.orkes.loadtest.StubServer.Reply;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+public final class Stubs {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Stubs() {}
+
+    public static StubServer conductor(Faults faults) throws IOException {
+        var execution = Payloads.execution();
+        var workflowDef = MAPPER.writeValueAsBytes(MAPPER.readTree(execution).path("workflowDefinition"));
+        var searchResults = MAPPER.writeValueAsBytes(Map.of(
+            "totalHits", 250,
+            "results", IntStream.range(0, 100).mapToObj(Stubs::workflowSummary).toList()
+        ));
+        var humanTasks = MAPPER.writeValueAsBytes(Map.of(
+            "totalHits", 15,
+            "results", IntStream.range(0, 15).mapToObj(Stubs::humanTask).toList()
+        ));
+        var schema = MAPPER.writeValueAsBytes(Map.of(
+            "name", "invoice_input",
+            "version", 1,
+            "type", "JSON",
+            "data", Map.of("type", "object", "properties", Map.of("requestId", Map.of("type", "string")))
+        ));
+        var template = MAPPER.writeValueAsBytes(List.of(Map.of(
+            "name", "approval_form",
+            "version", 1,
+            "jsonSchema", Map.of("type", "object"),
+            "templateUI", Map.of("type", "VerticalLayout", "elements", List.of())
+        )));
+        return new StubServer("conductor", faults)
+            .reliableRoute("POST", "/api/token", (exchange, path) -> Reply.json("{\"token\":\"stub-token\"}"))
+            .route("POST", "/api/workflow", (exchange, path) -> Reply.text(UUID.randomUUID().toString()))
+            .route("POST", "/api/workflow/execute/([^/]+)(/\\d+)?", (exchange, path) -> Reply.json(workflowRun(path.group(1))))
+            .route("GET", "/api/workflow/search", (exchange, path) -> Reply.json(searchResults))
+            .route("GET", "/api/workflow/([^/]+)", (exchange, path) -> Reply.json(execution))
+            .route("DELETE", "/api/workflow/([^/]+)", (exchange, path) -> Reply.empty(200))
+            .route("POST", "/api/tasks/([^/]+)/([^/]+)/signal(/sync)?", (exchange, path) -> Reply.json(workflowRun(path.group(1))))
+            .route("POST", "/api/human/tasks/search", (exchange, path) -> Reply.json(humanTasks))
+            .route("POST", "/api/human/tasks/([^/]+)/externalUser/([^/]+)", (exchange, path) -> Reply.empty(200))
+            .route("POST", "/api/human/tasks/([^/]+)/update", (exchange, path) -> Reply.empty(200))
+            .route("GET", "/api/human/template", (exchange, path) -> Reply.json(template))
+            .route("GET", "/api/schema/([^/]+)", (exchange, path) -> Reply.json(schema))
+            .route("GET", "/api/metadata/workflow/([^/]+)", (exchange, path) -> Reply.json(workflowDef));
+    }
+
+    public static StubServer azure(Faults faults) throws IOException {
+        var result = Payloads.invoiceAnalyzeResult();
+        var server = new StubServer("azure", faults);
+        return server
+            .route("POST", "/formrecognizer/documentModels/" + RecordedInvoices.MODEL + ":analyze", (exchange, path) -> new Reply(
+                202, null, new byte[0],
+                Map.of("Operation-Location", server.url() + "/" + RecordedInvoices.OPERATION_PATH + UUID.randomUUID() + "?api-version=2023-07-31")
+            ))
+            .route("GET", "/" + RecordedInvoices.OPERATION_PATH + "([^/]+)", (exchange, path) -> Reply.json(result));
+    }
+
+    public static StubServer googleCerts(GoogleTokens tokens, Faults faults) throws IOException {
+        var certs = tokens.certsJson();
+        return new StubServer("google", faults)
+            .route("GET", "/oauth2/v1/certs", (exchange, path) -> new Reply(
+                200, "application/json", certs.getBytes(), Map.of("Cache-Control", "public, max-age=3600")
+            ));
+    }
+
+    private static byte[] workflowRun(String workflowId) throws IOException {
+        return MAPPER.writeValueAsBytes(Map.of(
+            "workflowId", workflowId,
+            "targetWorkflowId", workflowId,
+            "responseType", "TARGET_WORKFLOW",
+            "status", "COMPLETED",
+            "output", Map.of("approved", true),
+            "tasks", List.of()
+        ));
+    }
+
+    private static Map<String, Object> workflowSummary(int i) {
+        return Map.of(
+            "workflowType", "invoice_approval",
+            "version", 3,
+            "workflowId", "wf-" + i,
+            "correlationId", "loadtest@example.com",
+            "status", "COMPLETED",
+            "startTime", "2025-01-15T00:00:00.000Z",
+            "input", "{}",
+            "output", "{}"
+        );
+    }
+
+    private static Map<String, Object> humanTask(int i) {
+        return Map.of(
+            "taskId", "human-" + i,
+            "taskRefName", "manager_approval",
+            "displayName", "Approve invoice " + i,
+            "state", "ASSIGNED",
+            "workflowId", "wf-" + i,
+            "workflowName", "invoice_approval",
+            "input", Map.of("amount", 100 + i),
+            "assignee", Map.of("userType", "EXTERNAL_USER", "user", "loadtest@example.com")
+        );
+    }
+}
@@ -0,0 +1,149 @@
+package space.yong.orkes.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import space.yong.orkes.fixtures.Payloads;
+import space.yong.orkes.loadtest.LatencyReport.Outcome;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+@Slf4j
+public class Traffic {
+    private final URI baseUri;
+    private final List<String> tokens;
+    private final HttpClient httpClient;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final int totalWeight;
+    private final byte[] invoiceImage;
+
+    private record Scenario(String name, int weight, Function<HttpRequest.Builder, HttpRequest.Builder> request) {}
+
+    public Traffic(URI baseUri, List<String> tokens) throws IOException {
+        this.baseUri = baseUri;
+        this.tokens = tokens;
+        this.httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.invoiceImage = invoiceImage();
+        var input = Payloads.workflowInput();
+        add("GET human-tasks", 25, r -> r.uri(uri("human-tasks")).GET());
+        add("POST start", 15, r -> json(r.uri(uri("start/invoice_approval/3")), input));
+        add("POST execute", 8, r -> json(r.uri(uri("execute/invoice_approval/3")), input));
+        add("GET execution", 12, r -> r.uri(uri("execution/" + UUID.randomUUID())).GET());
+        add("GET execution summary", 6, r -> r.uri(uri("execution/" + UUID.randomUUID() + "?summary=true")).GET());
+        add("GET search-executions", 10, r -> r.uri(uri("search-executions?workflowName=invoice_approval&status=COMPLETED&size=20")).GET());
+        add("GET workflow-def", 8, r -> r.uri(uri("workflow-def/invoice_approval")).GET());
+        add("GET schema", 4, r -> r.uri(uri("schema/invoice_input")).GET());
+        add("GET human-template", 4, r -> r.uri(uri("human-template?name=approval_form")).GET());
+        add("POST signal", 5, r -> json(r.uri(uri("signal/" + UUID.randomUUID())), "{\"approved\":true}".getBytes(StandardCharsets.UTF_8)));
+        add("POST infer-image", 3, this::inferImage);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    public LatencyReport run(int users, Duration duration) throws InterruptedException {
+        var report = new LatencyReport();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                var token = tokens.get(i % tokens.size());
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        send(pick(), token, report);
+                    }
+                });
+            }
+        }
+        return report;
+    }
+
+    private void send(Scenario scenario, String token, LatencyReport report) {
+        var request = scenario.request()
+            .apply(HttpRequest.newBuilder().timeout(Duration.ofMinutes(2)).header("Authorization", "Bearer " + token))
+            .build();
+        long start = System.nanoTime();
+        Outcome outcome;
+        try {
+            var status = httpClient.send(request, BodyHandlers.discarding()).statusCode();
+            outcome = status == 429 ? Outcome.THROTTLED : status < 400 ? Outcome.SUCCESS : Outcome.ERROR;
+        } catch (IOException e) {
+            log.debug("{} failed", scenario.name(), e);
+            outcome = Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(scenario.name(), System.nanoTime() - start, outcome);
+    }
+
+    private Scenario pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (var scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.getLast();
+    }
+
+    private void add(String name, int weight, Function<HttpRequest.Builder, HttpRequest.Builder> request) {
+        scenarios.add(new Scenario(name, weight, request));
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder request, byte[] body) {
+        return request.header("Content-Type", "application/json").POST(BodyPublishers.ofByteArray(body));
+    }
+
+    private HttpRequest.Builder inferImage(HttpRequest.Builder request) {
+        var boundary = UUID.randomUUID().toString();
+        var out = new ByteArrayOutputStream(invoiceImage.length + 512);
+        out.writeBytes(("--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"invoice.jpg\"\r\n"
+            + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(invoiceImage);
+        // Trailing bytes after EOI are ignored by decoders but make each upload miss the result cache
+        out.writeBytes(UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return request
+            .uri(uri("infer-image"))
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(BodyPublishers.ofByteArray(out.toByteArray()));
+    }
+
+    private static byte[] invoiceImage() throws IOException {
+        var image = new BufferedImage(2480, 3508, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setColor(Color.BLACK);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 48));
+        for (int line = 0; line < 40; line++) {
+            graphics.drawString("Item " + line + "    " + (line % 5 + 1) + " x $" + (10 + line * 3.25), 200, 300 + line * 75);
+        }
+        graphics.dispose();
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
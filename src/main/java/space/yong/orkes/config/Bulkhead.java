@@ -0,0 +1,114 @@
+package space.yong.orkes.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class Bulkhead {
+    private final String name;
+    private final Limits limits;
+    private final Semaphore permits;
+    private final MeterRegistry registry;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter rejected;
+
+    public record Limits(int maxConcurrent, int maxQueue, Duration maxWait) {}
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public Bulkhead(String name, Limits limits, MeterRegistry registry) {
+        this.name = name;
+        this.limits = limits;
+        this.permits = new Semaphore(limits.maxConcurrent(), true);
+        this.registry = registry;
+        Gauge.builder("bulkhead.active", this, Bulkhead::active).tag("bulkhead", name).register(registry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get).tag("bulkhead", name).register(registry);
+        Gauge.builder("bulkhead.max.concurrent", limits, Limits::maxConcurrent).tag("bulkhead", name).register(registry);
+        this.rejected = Counter.builder("bulkhead.rejected").tag("bulkhead", name).register(registry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int active() {
+        return limits.maxConcurrent() - permits.availablePermits();
+    }
+
+    public <T, E extends Exception> T call(String operation, Call<T, E> call) throws E {
+        acquire();
+        var sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            permits.release();
+            sample.stop(timer(operation, outcome));
+        }
+    }
+
+    public <T> CompletableFuture<T> callAsync(String operation, Supplier<CompletableFuture<T>> call) {
+        acquire();
+        var sample = Timer.start(registry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            sample.stop(timer(operation, "error"));
+            throw e;
+        }
+        future.whenComplete((value, e) -> {
+            permits.release();
+            sample.stop(timer(operation, e == null ? "success" : "error"));
+        });
+        return future;
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("downstream.requests")
+            .tag("downstream", name)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > limits.maxQueue()) {
+            queued.decrementAndGet();
+            throw reject();
+        }
+        try {
+            if (!permits.tryAcquire(limits.maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw reject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject();
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private ResponseStatusException reject() {
+        rejected.increment();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, name + " is at capacity");
+    }
+}
@@ -0,0 +1,56 @@
+package space.yong.orkes.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+@Component
+public class Bulkheads {
+    private final Bulkhead workflow;
+    private final Bulkhead execute;
+    private final Bulkhead humanTask;
+    private final Bulkhead documentIntelligence;
+    private final Bulkhead googleCerts;
+
+    public Bulkheads(Environment environment, MeterRegistry registry) {
+        Map<String, Bulkhead.Limits> limits = Binder.get(environment)
+            .bind("bulkheads", Bindable.mapOf(String.class, Bulkhead.Limits.class))
+            .orElse(Map.of());
+        this.workflow = create("conductor-workflow", limits, registry);
+        this.execute = create("conductor-workflow-execute", limits, registry);
+        this.humanTask = create("conductor-human-task", limits, registry);
+        this.documentIntelligence = create("azure-document-intelligence", limits, registry);
+        this.googleCerts = create("google-certs", limits, registry);
+    }
+
+    private static Bulkhead create(String name, Map<String, Bulkhead.Limits> limits, MeterRegistry registry) {
+        var limit = limits.get(name);
+        if (limit == null) {
+            throw new IllegalStateException("Missing bulkheads." + name + " configuration");
+        }
+        return new Bulkhead(name, limit, registry);
+    }
+
+    public Bulkhead workflow() {
+        return workflow;
+    }
+
+    public Bulkhead execute() {
+        return execute;
+    }
+
+    public Bulkhead humanTask() {
+        return humanTask;
+    }
+
+    public Bulkhead documentIntelligence() {
+        return documentIntelligence;
+    }
+
+    public Bulkhead googleCerts() {
+        return googleCerts;
+    }
+}
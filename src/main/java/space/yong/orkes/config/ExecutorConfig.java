@@ -0,0 +1,18 @@
+package space.yong.orkes.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+    @Bean(destroyMethod = "close")
+    public ExecutorService outboundExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbound-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("outbound-", 0).daemon().factory());
+    }
+}
@@ -2,31 +2,29 @@ package space.yong.orkes.config;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.security.GeneralSecurityException;
 import java.util.List;
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 
 @Service
 public class GoogleFilter extends OncePerRequestFilter {
-    @Value("${google.client-id}")
-    private String clientId;
+    private final AsyncCache<String, TokenCacheConfig.CachedToken> tokenCache;
+    private final ObjectProvider<GoogleIdTokenVerifier> verifier;
 
-    private final Cache<String, TokenCacheConfig.CachedToken> tokenCache;
-
-    public GoogleFilter(Cache<String, TokenCacheConfig.CachedToken> tokenCache) {
+    public GoogleFilter(AsyncCache<String, TokenCacheConfig.CachedToken> tokenCache, ObjectProvider<GoogleIdTokenVerifier> verifier) {
         this.tokenCache = tokenCache;
+        this.verifier = verifier;
     }
 
     @Override
@@ -39,26 +37,7 @@ public class GoogleFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             final String token = authHeader.substring(7);
             try {
-                var cached = tokenCache.getIfPresent(token);
-                if (cached == null) {
-                    var verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-                        .setAudience(List.of(clientId))
-                        .build();
-                    GoogleIdToken idToken = GoogleIdToken.parse(verifier.getJsonFactory(), token);
-
-                    if (!verifier.verify(idToken)) {
-                        throw new SecurityException("Invalid Google ID token");
-                    }
-
-                    GoogleIdToken.Payload payload = idToken.getPayload();
-                    String email = payload.getEmail();
-                    long expSeconds = payload.getExpirationTimeSeconds();
-                    var expiresAt = java.time.Instant.ofEpochSecond(expSeconds);
-
-                    var value = new TokenCacheConfig.CachedToken(email, expiresAt);
-                    tokenCache.put(token, value);
-                    cached = value;
-                }
+                var cached = tokenCache.get(TokenCacheConfig.digest(token), key -> verify(token)).join();
                 var authToken = new UsernamePasswordAuthenticationToken(cached.email(), null, List.of());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             } catch (Exception e) {
@@ -67,4 +46,24 @@ public class GoogleFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private TokenCacheConfig.CachedToken verify(String token) {
+        try {
+            var tokenVerifier = verifier.getObject();
+            GoogleIdToken idToken = GoogleIdToken.parse(tokenVerifier.getJsonFactory(), token);
+
+            if (!tokenVerifier.verify(idToken)) {
+                throw new SecurityException("Invalid Google ID token");
+            }
+
+            GoogleIdToken.Payload payload = idToken.getPayload();
+            String email = payload.getEmail();
+            long expSeconds = payload.getExpirationTimeSeconds();
+            var expiresAt = java.time.Instant.ofEpochSecond(expSeconds);
+
+            return new TokenCacheConfig.CachedToken(email, expiresAt);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new SecurityException("Invalid Google ID token", e);
+        }
+    }
 }
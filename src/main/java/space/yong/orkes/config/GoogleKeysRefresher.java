@@ -0,0 +1,50 @@
+package space.yong.orkes.config;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoogleKeysRefresher {
+    private final GooglePublicKeysManager googlePublicKeys;
+    private final Bulkheads bulkheads;
+    private final ExecutorService outboundExecutor;
+    @Value("${google.certs-refresh-ahead}")
+    private Duration refreshAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        outboundExecutor.execute(this::refresh);
+    }
+
+    @Scheduled(initialDelayString = "${google.certs-refresh-check}", fixedDelayString = "${google.certs-refresh-check}")
+    public void refreshIfExpiring() {
+        if (googlePublicKeys.getExpirationTimeMilliseconds() != 0) {
+            long refreshAt = googlePublicKeys.getExpirationTimeMilliseconds() - refreshAhead.toMillis();
+            if (googlePublicKeys.getClock().currentTimeMillis() < refreshAt) {
+                return;
+            }
+        }
+        outboundExecutor.execute(this::refresh);
+    }
+
+    private void refresh() {
+        try {
+            bulkheads.googleCerts().call("google.certs.refresh", googlePublicKeys::refresh);
+            var expiresAt = Instant.ofEpochMilli(googlePublicKeys.getExpirationTimeMilliseconds());
+            log.info("Refreshed {} Google signing keys, valid until {}", googlePublicKeys.getPublicKeys().size(), expiresAt);
+        } catch (Exception e) {
+            log.warn("Failed to refresh Google signing keys", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package space.yong.orkes.config;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import java.util.List;
+
+@Configuration
+@EnableScheduling
+public class GoogleVerifierConfig {
+    @Bean
+    public GooglePublicKeysManager googlePublicKeys(@Value("${google.certs-url}") String certsUrl) {
+        return new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+            .setPublicCertsEncodedUrl(certsUrl)
+            .build();
+    }
+
+    @Bean
+    @Lazy
+    public GoogleIdTokenVerifier googleIdTokenVerifier(
+        GooglePublicKeysManager googlePublicKeys,
+        @Value("${google.client-id}") String clientId
+    ) {
+        return new GoogleIdTokenVerifier.Builder(googlePublicKeys)
+            .setAudience(List.of(clientId))
+            .build();
+    }
+}
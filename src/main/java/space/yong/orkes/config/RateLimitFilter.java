@@ -0,0 +1,253 @@
+package space.yong.orkes.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final Cache<Key, Limiter> limiters;
+    private final MeterRegistry registry;
+
+    public record Group(List<String> paths, double rate, int burst, int maxConcurrent) {}
+    private record Rule(String name, Group group) {}
+    private record Route(PathPattern pattern, Rule rule) {}
+    private record Key(String principal, String group) {}
+
+    public RateLimitFilter(
+        Environment environment,
+        MeterRegistry registry,
+        @Value("${rate-limits.enabled}") boolean enabled,
+        @Value("${rate-limits.idle-expiry}") Duration idleExpiry
+    ) {
+        Map<String, Group> groups = Binder.get(environment)
+            .bind("rate-limits.groups", Bindable.mapOf(String.class, Group.class))
+            .orElse(Map.of());
+        this.enabled = enabled;
+        this.registry = registry;
+        this.routes = groups.entrySet().stream()
+            .flatMap(entry -> {
+                var rule = new Rule(entry.getKey(), entry.getValue());
+                return entry.getValue().paths().stream()
+                    .map(path -> new Route(PathPatternParser.defaultInstance.parse(path), rule));
+            })
+            .sorted(Comparator.comparing(Route::pattern, PathPattern.SPECIFICITY_COMPARATOR))
+            .toList();
+        long idleNanos = idleExpiry.toNanos();
+        this.limiters = Caffeine.newBuilder()
+            .expireAfter(new Expiry<Key, Limiter>() {
+                @Override
+                public long expireAfterCreate(Key key, Limiter limiter, long currentTime) {
+                    return limiter.inFlight.get() > 0 ? Long.MAX_VALUE : idleNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(Key key, Limiter limiter, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, limiter, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(Key key, Limiter limiter, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, limiter, currentTime);
+                }
+            })
+            .build();
+        Gauge.builder("ratelimit.principals", limiters, Cache::estimatedSize).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain chain
+    ) throws ServletException, IOException {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        var rule = auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken
+            ? null : match(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var key = new Key(auth.getName(), rule.name());
+        var limiter = limiters.get(key, k -> new Limiter(rule.group(), System.nanoTime()));
+        if (!limiter.tryEnter()) {
+            reject(response, rule, "concurrency", TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        long waitNanos = limiter.tryConsume(System.nanoTime());
+        if (waitNanos > 0) {
+            exit(key, limiter);
+            reject(response, rule, "rate", waitNanos);
+            return;
+        }
+        touch(key, limiter);
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Release(() -> exit(key, limiter)));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                exit(key, limiter);
+            }
+        }
+    }
+
+    private void exit(Key key, Limiter limiter) {
+        limiter.exit();
+        touch(key, limiter);
+    }
+
+    private void touch(Key key, Limiter limiter) {
+        limiters.asMap().compute(key, (k, existing) -> existing != null ? existing : limiter);
+    }
+
+    private Rule match(HttpServletRequest request) {
+        var path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (var route : routes) {
+            if (route.pattern().matches(path)) {
+                return route.rule();
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, Rule rule, String reason, long waitNanos) throws IOException {
+        Counter.builder("ratelimit.throttled")
+            .tag("group", rule.name())
+            .tag("reason", reason)
+            .register(registry)
+            .increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many " + rule.name() + " requests");
+    }
+
+    private static final class Limiter {
+        private final long interval;
+        private final long tolerance;
+        private final int maxConcurrent;
+        private final AtomicLong theoreticalArrival;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        Limiter(Group group, long now) {
+            this.interval = group.rate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / group.rate()) : 0;
+            this.tolerance = interval * Math.max(1, group.burst());
+            this.maxConcurrent = group.maxConcurrent();
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        long tryConsume(long now) {
+            if (interval == 0) {
+                return 0;
+            }
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = Math.max(arrival, now) + interval;
+                long excess = next - now - tolerance;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean tryEnter() {
+            if (maxConcurrent <= 0) {
+                return true;
+            }
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxConcurrent) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void exit() {
+            if (maxConcurrent > 0) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private record Release(Runnable exit, AtomicBoolean released) implements AsyncListener {
+        Release(Runnable exit) {
+            this(exit, new AtomicBoolean());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                exit.run();
+            }
+        }
+    }
+}
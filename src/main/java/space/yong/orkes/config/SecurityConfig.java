@@ -1,17 +1,25 @@
 package space.yong.orkes.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -20,21 +28,57 @@ import org.springframework.web.filter.CorsFilter;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final GoogleFilter googleFilter;
+    private final RateLimitFilter rateLimitFilter;
+    @Value("${management.scrape.username}")
+    private String scrapeUsername;
+    @Value("${management.scrape.password}")
+    private String scrapePassword;
+    @Value("${metadata-cache.admins}")
+    private Set<String> metadataCacheAdmins;
 
     @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (scrapeUsername.isBlank() || scrapePassword.isBlank()) {
+            return http.authorizeHttpRequests(a -> a.anyRequest().denyAll()).build();
+        }
+        var scraper = org.springframework.security.core.userdetails.User.withUsername(scrapeUsername)
+            .password(scrapePassword.startsWith("{") ? scrapePassword : "{noop}" + scrapePassword)
+            .build();
+        var provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(scraper));
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return http
+            .authorizeHttpRequests(a -> a.anyRequest().authenticated())
+            .httpBasic(Customizer.withDefaults())
+            .authenticationManager(new ProviderManager(provider))
+            .build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
             .cors(Customizer.withDefaults())
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(
-                a -> a.requestMatchers("/actuator/**", "/error").permitAll().anyRequest().authenticated()
+                a -> a.requestMatchers("/actuator/**", "/error").permitAll()
+                    .requestMatchers(HttpMethod.DELETE, "/metadata-cache").access((auth, context) ->
+                        new AuthorizationDecision(metadataCacheAdmins.contains(auth.get().getName()))
+                    )
+                    .anyRequest().authenticated()
             )
             .addFilterBefore(googleFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, GoogleFilter.class)
             .authenticationProvider(authProvider())
             .build();
     }
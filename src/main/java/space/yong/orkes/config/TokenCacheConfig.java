@@ -1,18 +1,26 @@
 package space.yong.orkes.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.Nonnull;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class TokenCacheConfig {
     @Bean
-    public Cache<String, CachedToken> tokenCache() {
-        return Caffeine.newBuilder()
+    public AsyncCache<String, CachedToken> tokenCache(ExecutorService outboundExecutor, MeterRegistry registry) {
+        AsyncCache<String, CachedToken> cache = Caffeine.newBuilder()
             .maximumSize(10_000)
+            .executor(outboundExecutor)
             .expireAfter(new Expiry<String, CachedToken>() {
                 @Override
                 public long expireAfterCreate(@Nonnull String key, @Nonnull CachedToken value, long currentTime) {
@@ -28,7 +36,19 @@ public class TokenCacheConfig {
                     return currentDuration;
                 }
             })
-            .build();
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "tokenCache");
+        return cache;
+    }
+
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public record CachedToken(String email, java.time.Instant expiresAt) {}
@@ -0,0 +1,145 @@
+package space.yong.orkes.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class AuditLog {
+    private final ObjectWriter writer;
+    private final BlockingQueue<Entry> queue;
+    private final Map<String, Double> sampleRates;
+    private final double defaultSampleRate;
+    private final int maxPayloadSize;
+    private final Counter dropped;
+    private final Counter sampledOut;
+    private final Counter truncated;
+    private volatile boolean running = true;
+
+    private record Entry(String message, String payload, Object[] args) {}
+
+    public AuditLog(
+        ObjectMapper objectMapper,
+        Environment environment,
+        MeterRegistry registry,
+        ExecutorService outboundExecutor,
+        @Value("${audit.capacity}") int capacity,
+        @Value("${audit.max-payload-size}") int maxPayloadSize,
+        @Value("${audit.default-sample-rate}") double defaultSampleRate
+    ) {
+        this.writer = objectMapper.writer();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sampleRates = Binder.get(environment)
+            .bind("audit.sample-rates", Bindable.mapOf(String.class, Double.class))
+            .orElse(Map.of());
+        this.defaultSampleRate = defaultSampleRate;
+        this.maxPayloadSize = maxPayloadSize;
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(registry);
+        this.dropped = Counter.builder("audit.dropped").register(registry);
+        this.sampledOut = Counter.builder("audit.sampled.out").register(registry);
+        this.truncated = Counter.builder("audit.truncated").register(registry);
+        outboundExecutor.execute(this::run);
+    }
+
+    public void record(String endpoint, Object payload, String message, Object... args) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        double rate = sampleRates.getOrDefault(endpoint, defaultSampleRate);
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.increment();
+            return;
+        }
+        if (!queue.offer(new Entry(message, serialize(payload), args))) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                var entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to write audit record", e);
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        var args = Arrays.copyOf(entry.args(), entry.args().length + 1);
+        args[args.length - 1] = entry.payload();
+        log.info(entry.message() + ": {}", args);
+    }
+
+    private String serialize(Object payload) {
+        var out = new CappedWriter(maxPayloadSize);
+        try {
+            writer.writeValue(out, payload);
+        } catch (IOException e) {
+            if (!out.full) {
+                return "<unserializable: " + e.getMessage() + ">";
+            }
+        }
+        if (out.full) {
+            truncated.increment();
+            return out.builder + "...<truncated>";
+        }
+        return out.builder.toString();
+    }
+
+    private static class CappedWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder();
+        private final int limit;
+        private boolean full;
+
+        CappedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int room = limit - builder.length();
+            builder.append(buffer, offset, Math.min(room, length));
+            if (length > room) {
+                full = true;
+                throw new IOException("Audit payload exceeds " + limit + " characters");
+            }
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -1,92 +1,159 @@
 package space.yong.orkes.services;
 
-import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.CURRENCY;
-import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.DATE;
-import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.LIST;
-import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.STRING;
-import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClient;
-import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClientBuilder;
-import com.azure.ai.formrecognizer.documentanalysis.models.DocumentField;
-import com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType;
-import com.azure.core.credential.AzureKeyCredential;
-import com.azure.core.util.BinaryData;
-import jakarta.annotation.PostConstruct;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipInputStream;
 
 @RestController
 @RequiredArgsConstructor
 public class AzureAiService {
-    @Value("${azure-doc-intel.endpoint}")
-    private String endpoint;
-    @Value("${azure-doc-intel.key}")
-    private String key;
-    private DocumentAnalysisClient client;
+    private final InvoiceAnalyzer invoiceAnalyzer;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService outboundExecutor;
+    @Value("${infer-image.timeout}")
+    private Duration inferImageTimeout;
+    @Value("${infer-image.jobs.events-timeout}")
+    private Duration jobEventsTimeout;
+    @Value("${infer-image.batch.concurrency}")
+    private int batchConcurrency;
+    @Value("${infer-image.batch.max-files}")
+    private int batchMaxFiles;
+    @Value("${infer-image.batch.timeout}")
+    private Duration batchTimeout;
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
 
     public record InvoiceItem(String description, long quantity, double unitPrice) {}
     public record Invoice(String invoiceNumber, String vendor, LocalDate date, List<InvoiceItem> items, double total) {}
+    public record BatchResult(String file, Invoice invoice, String error) {}
 
-    @PostConstruct
-    public void init() {
-        client = new DocumentAnalysisClientBuilder()
-            .credential(new AzureKeyCredential(key))
-            .endpoint(endpoint)
-            .buildClient();
+    @PostMapping("/infer-image")
+    public DeferredResult<Invoice> inferImage(@RequestParam("file") MultipartFile file) throws IOException {
+        var result = new DeferredResult<Invoice>(inferImageTimeout.toMillis());
+        invoiceAnalyzer.analyze(file.getBytes()).whenComplete((invoice, e) -> {
+            if (e != null) {
+                result.setErrorResult(e instanceof CompletionException ? e.getCause() : e);
+            } else {
+                result.setResult(invoice);
+            }
+        });
+        return result;
     }
 
-    @PostMapping("/infer-image")
-    public Invoice inferImage(@RequestParam("file") MultipartFile file) throws IOException {
-        var data = BinaryData.fromBytes(file.getBytes());
-        var analyzeInvoicePoller = client.beginAnalyzeDocument("prebuilt-invoice", data);
-        var analyzeInvoiceResult = analyzeInvoicePoller.getFinalResult();
-        var analyzedInvoice = analyzeInvoiceResult.getDocuments().getFirst();
+    @PostMapping("/infer-image/jobs")
+    public ResponseEntity<InvoiceAnalyzer.Job> submitInferImageJob(@RequestParam("file") MultipartFile file) throws IOException {
+        var job = invoiceAnalyzer.submit(file.getBytes());
+        return ResponseEntity.accepted()
+            .location(URI.create("infer-image/jobs/" + job.jobId()))
+            .body(job);
+    }
 
-        Map<String, DocumentField> fields = analyzedInvoice.getFields();
+    @GetMapping("/infer-image/jobs/{jobId}")
+    public InvoiceAnalyzer.Job getInferImageJob(@PathVariable String jobId) {
+        return invoiceAnalyzer.job(jobId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
 
-        DocumentField vendorNameField = fields.get("VendorName");
-        String vendorName = vendorNameField != null && STRING == vendorNameField.getType()
-            ? vendorNameField.getValueAsString() : "";
+    @GetMapping("/infer-image/jobs/{jobId}/events")
+    public SseEmitter streamInferImageJob(@PathVariable String jobId) throws IOException {
+        var job = getInferImageJob(jobId);
+        var emitter = new SseEmitter(jobEventsTimeout.toMillis());
+        emitter.send(SseEmitter.event().name("status").data(job));
+        if (job.status() != InvoiceAnalyzer.JobStatus.RUNNING) {
+            emitter.complete();
+            return emitter;
+        }
+        invoiceAnalyzer.awaitJob(jobId).ifPresent(done -> done.thenAccept(result -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(result));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+        return emitter;
+    }
 
-        DocumentField invoiceIdField = fields.get("InvoiceId");
-        String invoiceNumber = invoiceIdField != null && STRING == invoiceIdField.getType()
-            ? invoiceIdField.getValueAsString() : "";
+    @PostMapping(value = "/infer-image/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> inferImageBatch(@RequestParam("files") List<MultipartFile> files) {
+        if (files.size() > batchMaxFiles) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Batch exceeds " + batchMaxFiles + " files");
+        }
+        return ndjson(stream -> {
+            var batch = batch(stream);
+            for (var file : files) {
+                batch.submit(() -> analyzeBatchEntry(file.getOriginalFilename(), file::getBytes));
+            }
+            batch.drain();
+        });
+    }
 
-        DocumentField dateField = fields.get("InvoiceDate");
-        LocalDate invoiceDate = dateField != null  && DATE == dateField.getType()
-            ? dateField.getValueAsDate() : null;
+    @PostMapping(value = "/infer-image/batch", consumes = "application/zip")
+    public ResponseEntity<ResponseBodyEmitter> inferImageZipBatch(HttpServletRequest request) {
+        int maxFileBytes = (int) maxFileSize.toBytes();
+        return ndjson(stream -> {
+            var batch = batch(stream);
+            try (var zip = new ZipInputStream(request.getInputStream())) {
+                int count = 0;
+                for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    String name = entry.getName();
+                    if (++count > batchMaxFiles) {
+                        batch.submit(() -> new BatchResult(name, null, "Batch exceeds " + batchMaxFiles + " files"));
+                        break;
+                    }
+                    byte[] content = zip.readNBytes(maxFileBytes + 1);
+                    if (content.length > maxFileBytes) {
+                        batch.submit(() -> new BatchResult(name, null, "File exceeds " + maxFileSize));
+                        continue;
+                    }
+                    batch.submit(() -> analyzeBatchEntry(name, () -> content));
+                }
+            }
+            batch.drain();
+        });
+    }
 
-        DocumentField invoiceTotalField = fields.get("InvoiceTotal");
-        double invoiceTotal = invoiceTotalField != null && CURRENCY == invoiceTotalField.getType()
-            ? invoiceTotalField.getValueAsCurrency().getAmount() : 0;
+    private FanOut<BatchResult> batch(NdjsonStream<BatchResult> stream) {
+        return new FanOut<>(outboundExecutor, batchConcurrency, stream);
+    }
 
-        DocumentField itemsField = fields.get("Items");
-        List<InvoiceItem> items = (itemsField != null && LIST == itemsField.getType()) ?
-            itemsField.getValueAsList().stream()
-                .filter(item -> DocumentFieldType.MAP == item.getType())
-                .map(DocumentField::getValueAsMap)
-                .map(item -> {
-                    String description = item.get("Description") != null ? item.get("Description").getValueAsString() : "";
-                    long quantity = item.get("Quantity") != null ? item.get("Quantity").getValueAsDouble().longValue() : 1;
-                    double unitPrice = 0;
-                    DocumentField unitPriceField = item.get("UnitPrice");
-                    if (unitPriceField != null && CURRENCY == unitPriceField.getType()) {
-                        int multiplier = unitPriceField.getContent().contains("-") ? -1 : 1;
-                        unitPrice = unitPriceField.getValueAsCurrency().getAmount() * multiplier;
-                    }
-                    return new InvoiceItem(description, quantity, unitPrice);
-                })
-                .toList()
-            : new ArrayList<>();
+    private BatchResult analyzeBatchEntry(String name, Callable<byte[]> content) {
+        try {
+            return new BatchResult(name, invoiceAnalyzer.analyze(content.call()).join(), null);
+        } catch (CompletionException e) {
+            return new BatchResult(name, null, e.getCause().getMessage());
+        } catch (Exception e) {
+            return new BatchResult(name, null, e.getMessage());
+        }
+    }
 
-        return new Invoice(invoiceNumber, vendorName, invoiceDate, items, invoiceTotal);
+    private ResponseEntity<ResponseBodyEmitter> ndjson(NdjsonStream.Producer<BatchResult> producer) {
+        return NdjsonStream.start(outboundExecutor, objectMapper, batchTimeout, producer);
     }
 }
@@ -0,0 +1,191 @@
+package space.yong.orkes.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.orkes.conductor.client.ApiClient;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import space.yong.orkes.config.Bulkhead;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+public class ConductorPassthrough {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final ObjectMapper objectMapper;
+    private final ApiClient client;
+    private final OkHttpClient httpClient;
+    private final HttpUrl baseUrl;
+    private final boolean authenticated;
+    private final boolean enabled;
+
+    public ConductorPassthrough(
+        ObjectMapper objectMapper,
+        ApiClient client,
+        ExecutorService outboundExecutor,
+        @Value("${conductor.server.url}") String serverUrl,
+        @Value("${conductor.security.client.key-id:}") String keyId,
+        @Value("${conductor.client.timeout.connect}") long connectTimeout,
+        @Value("${conductor.client.timeout.read}") long readTimeout,
+        @Value("${conductor.client.timeout.write}") long writeTimeout,
+        @Value("${conductor.passthrough.enabled}") boolean enabled
+    ) {
+        this.objectMapper = objectMapper;
+        this.client = client;
+        this.baseUrl = HttpUrl.get(serverUrl);
+        this.authenticated = !keyId.isBlank();
+        this.enabled = enabled;
+        var dispatcher = new Dispatcher(outboundExecutor);
+        dispatcher.setMaxRequests(Integer.MAX_VALUE);
+        dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+        this.httpClient = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .readTimeout(Duration.ofMillis(readTimeout))
+            .writeTimeout(Duration.ofMillis(writeTimeout))
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public byte[] getBytes(Bulkhead bulkhead, String operation, List<String> path, Map<String, String> query) {
+        var request = new Request.Builder().url(url(path, query)).get();
+        return bulkhead.call(operation, () -> {
+            try (var upstream = execute(request)) {
+                if (!upstream.isSuccessful()) {
+                    throw new ResponseStatusException(HttpStatusCode.valueOf(upstream.code()), upstream.body().string());
+                }
+                return upstream.body().bytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public <T> CompletableFuture<T> postAsync(List<String> path, Map<String, String> query, Object body, Duration timeout, Class<T> type) {
+        Call call;
+        try {
+            var request = new Request.Builder()
+                .url(url(path, query))
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(body), JSON));
+            call = httpClient.newBuilder().readTimeout(timeout).build().newCall(authorize(request));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var future = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                call.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try (response) {
+                    checkCredentials(response);
+                    if (!response.isSuccessful()) {
+                        throw new ResponseStatusException(HttpStatusCode.valueOf(response.code()), response.body().string());
+                    }
+                    future.complete(objectMapper.readValue(response.body().byteStream(), type));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    public void get(Bulkhead bulkhead, String operation, List<String> path, Map<String, String> query,
+                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        forward(bulkhead, operation, new Request.Builder().url(url(path, query)).get(), request, response);
+    }
+
+    public void post(Bulkhead bulkhead, String operation, List<String> path, Object body,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var upstreamBody = RequestBody.create(objectMapper.writeValueAsBytes(body), JSON);
+        forward(bulkhead, operation, new Request.Builder().url(url(path, Map.of())).post(upstreamBody), request, response);
+    }
+
+    private void forward(Bulkhead bulkhead, String operation, Request.Builder upstreamRequest,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            upstreamRequest.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        bulkhead.call(operation, () -> {
+            try (var upstream = execute(upstreamRequest)) {
+                response.setStatus(upstream.code());
+                response.setContentType(upstream.header(HttpHeaders.CONTENT_TYPE, "application/json"));
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                var contentEncoding = upstream.header(HttpHeaders.CONTENT_ENCODING);
+                if (contentEncoding != null) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+                }
+                var contentLength = upstream.body().contentLength();
+                if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                return upstream.body().byteStream().transferTo(response.getOutputStream());
+            }
+        });
+    }
+
+    private HttpUrl url(List<String> path, Map<String, String> query) {
+        var url = baseUrl.newBuilder();
+        path.forEach(url::addPathSegment);
+        query.forEach(url::addQueryParameter);
+        return url.build();
+    }
+
+    private Response execute(Request.Builder request) throws IOException {
+        var response = httpClient.newCall(authorize(request)).execute();
+        checkCredentials(response);
+        return response;
+    }
+
+    private Request authorize(Request.Builder request) {
+        if (authenticated) {
+            request.header("X-Authorization", client.getToken());
+        }
+        return request.build();
+    }
+
+    private static void checkCredentials(Response response) {
+        if (response.code() == HttpStatus.UNAUTHORIZED.value() || response.code() == HttpStatus.FORBIDDEN.value()) {
+            log.warn("Conductor rejected passthrough credentials with {} for {}", response.code(), response.request().url().encodedPath());
+            response.close();
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Conductor rejected the gateway credentials");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package space.yong.orkes.services;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.orkes.conductor.client.http.OrkesWorkflowClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import space.yong.orkes.config.Bulkheads;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+public class ExecutionSearch {
+    private static final Pattern WORKFLOW_NAME = Pattern.compile("[A-Za-z0-9_.\\-]+");
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+\\-]+@[A-Za-z0-9.\\-]+");
+
+    private final OrkesWorkflowClient workflowClient;
+    private final Bulkheads bulkheads;
+    private final AsyncLoadingCache<Query, Page> cache;
+    private final SecretKeySpec cursorKey;
+    @Value("${search-executions.max-size}")
+    private int maxSize;
+
+    public record Query(List<String> workflowNames, List<String> statuses, String correlationId, int start, int size) {
+        String toQueryString() {
+            var query = new StringBuilder("workflowType IN (").append(String.join(",", workflowNames)).append(")");
+            if (correlationId != null) {
+                query.append(" AND correlationId IN (").append(correlationId).append(")");
+            }
+            if (!statuses.isEmpty()) {
+                query.append(" AND status IN (").append(String.join(",", statuses)).append(")");
+            }
+            return query.toString();
+        }
+    }
+
+    public record Page(List<WorkflowSummary> results, long totalHits, String nextCursor) {}
+
+    public ExecutionSearch(
+        OrkesWorkflowClient workflowClient,
+        Bulkheads bulkheads,
+        MeterRegistry registry,
+        ExecutorService outboundExecutor,
+        @Value("${search-executions.cache.maximum-size}") long maximumSize,
+        @Value("${search-executions.cache.expire-after-write}") Duration expireAfterWrite,
+        @Value("${search-executions.cursor-key}") String cursorKey
+    ) {
+        this.workflowClient = workflowClient;
+        this.bulkheads = bulkheads;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .executor(outboundExecutor)
+            .recordStats()
+            .buildAsync(this::load);
+        if (cursorKey.isBlank()) {
+            throw new IllegalStateException("search-executions.cursor-key (SEARCH_CURSOR_KEY) must be set to a key shared by all instances");
+        }
+        this.cursorKey = new SecretKeySpec(cursorKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "searchExecutions");
+    }
+
+    public Query query(String workflowNames, String statuses, String correlationId, String cursor, int size) {
+        if (size < 1) {
+            throw badRequest("size must be at least 1");
+        }
+        size = Math.min(size, maxSize);
+        var names = split(workflowNames).stream()
+            .map(name -> {
+                if (!WORKFLOW_NAME.matcher(name).matches()) {
+                    throw badRequest("Invalid workflow name: " + name);
+                }
+                return name;
+            })
+            .toList();
+        if (names.isEmpty()) {
+            throw badRequest("workflowName is required");
+        }
+        var states = split(statuses).stream()
+            .map(status -> {
+                try {
+                    return Workflow.WorkflowStatus.valueOf(status.toUpperCase()).name();
+                } catch (IllegalArgumentException e) {
+                    throw badRequest("Invalid status: " + status);
+                }
+            })
+            .distinct()
+            .sorted()
+            .toList();
+        if (correlationId != null && !EMAIL.matcher(correlationId).matches()) {
+            throw badRequest("Invalid correlation id");
+        }
+        var query = new Query(names, states, correlationId, 0, size);
+        if (cursor == null || cursor.isBlank()) {
+            return query;
+        }
+        return new Query(names, states, correlationId, decodeCursor(cursor, query), size);
+    }
+
+    public CompletableFuture<Page> search(Query query) {
+        return cache.get(query);
+    }
+
+    private Page load(Query query) {
+        String queryString = query.toQueryString();
+        log.info("Search query: {} (start {})", queryString, query.start());
+        var result = bulkheads.workflow().call("workflow.search", () ->
+            workflowClient.search(query.start(), query.size(), "startTime:DESC", null, queryString)
+        );
+        var results = result.getResults();
+        int next = query.start() + results.size();
+        String nextCursor = !results.isEmpty() && next < result.getTotalHits() ? encodeCursor(next, query) : null;
+        return new Page(results, result.getTotalHits(), nextCursor);
+    }
+
+    private static List<String> split(String values) {
+        if (values == null || values.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(values.split(","))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .distinct()
+            .sorted()
+            .toList();
+    }
+
+    /**
+     * Cursors are offset-based: they carry the start index of the next page, so executions started
+     * between requests shift the pages. Each cursor is signed together with the query it was issued
+     * for and is rejected for any other query.
+     */
+    private String encodeCursor(int start, Query query) {
+        var cursor = start + ":" + signature(start, query);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int decodeCursor(String cursor, Query query) {
+        String[] parts;
+        int start;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            start = parts.length == 2 ? Integer.parseInt(parts[0]) : -1;
+        } catch (IllegalArgumentException e) {
+            throw badRequest("Invalid cursor");
+        }
+        if (start < 0) {
+            throw badRequest("Invalid cursor");
+        }
+        var expected = signature(start, query).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, parts[1].getBytes(StandardCharsets.UTF_8))) {
+            throw badRequest("Cursor does not match this query");
+        }
+        return start;
+    }
+
+    private String signature(int start, Query query) {
+        try {
+            var mac = Mac.getInstance("HmacSHA256");
+            mac.init(cursorKey);
+            var signed = start + "|" + query.size() + "|" + query.toQueryString();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
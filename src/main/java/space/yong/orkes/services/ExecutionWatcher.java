@@ -0,0 +1,267 @@
+package space.yong.orkes.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.netflix.conductor.client.exception.ConductorClientException;
+import com.netflix.conductor.client.http.ConductorClientRequest;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.run.Workflow;
+import io.orkes.conductor.client.ApiClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import space.yong.orkes.config.Bulkheads;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class ExecutionWatcher {
+    private static final List<String> SUMMARY_FIELDS = List.of(
+        "workflowId", "workflowName", "workflowVersion", "correlationId", "status",
+        "startTime", "endTime", "reasonForIncompletion", "output"
+    );
+    private static final List<String> TASK_FIELDS = List.of(
+        "taskId", "referenceTaskName", "taskType", "status", "startTime", "endTime", "outputData"
+    );
+
+    private final ApiClient client;
+    private final Bulkheads bulkheads;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService outboundExecutor;
+    private final Map<String, Poller> pollers = new ConcurrentHashMap<>();
+    @Value("${execution.poll-interval}")
+    private Duration pollInterval;
+    @Value("${execution.stream-timeout}")
+    private Duration streamTimeout;
+
+    public ExecutionWatcher(ApiClient client, Bulkheads bulkheads, TaskScheduler taskScheduler, ExecutorService outboundExecutor) {
+        this.client = client;
+        this.bulkheads = bulkheads;
+        this.taskScheduler = taskScheduler;
+        this.outboundExecutor = outboundExecutor;
+    }
+
+    public JsonNode fetch(String executionId, boolean includeTasks) {
+        ConductorClientRequest request = ConductorClientRequest.builder()
+            .method(ConductorClientRequest.Method.GET)
+            .path("/workflow/{workflowId}")
+            .addPathParam("workflowId", executionId)
+            .addQueryParam("includeTasks", String.valueOf(includeTasks))
+            .build();
+        return bulkheads.workflow().call("workflow.get", () -> client.execute(request, new TypeReference<JsonNode>() {})).getData();
+    }
+
+    public ObjectNode summarize(JsonNode execution) {
+        var summary = project(execution, SUMMARY_FIELDS);
+        JsonNode currentTask = null;
+        for (var task : execution.path("tasks")) {
+            currentTask = task;
+            if (!isTerminal(task)) {
+                break;
+            }
+        }
+        if (currentTask != null) {
+            summary.set("currentTask", project(currentTask, TASK_FIELDS));
+        }
+        return summary;
+    }
+
+    public static boolean needsTasks(Collection<String> paths) {
+        return paths.stream().anyMatch(path -> path.equals("tasks") || path.startsWith("tasks."));
+    }
+
+    public static ObjectNode project(JsonNode source, Collection<String> paths) {
+        var target = JsonNodeFactory.instance.objectNode();
+        for (var path : paths) {
+            var segments = path.split("\\.");
+            JsonNode value = source;
+            for (var segment : segments) {
+                value = value.isArray() && segment.chars().allMatch(Character::isDigit)
+                    ? value.path(Integer.parseInt(segment))
+                    : value.path(segment);
+            }
+            if (value.isMissingNode()) {
+                continue;
+            }
+            var parent = target;
+            for (int i = 0; i < segments.length - 1; i++) {
+                var child = parent.get(segments[i]);
+                parent = child instanceof ObjectNode node ? node : parent.putObject(segments[i]);
+            }
+            parent.set(segments[segments.length - 1], value);
+        }
+        return target;
+    }
+
+    public SseEmitter watch(String executionId) {
+        var emitter = new SseEmitter(streamTimeout.toMillis());
+        var poller = pollers.compute(executionId, (key, existing) -> {
+            var target = existing != null && !existing.done ? existing : new Poller(key);
+            target.subscribe(emitter);
+            return target;
+        });
+        Runnable unsubscribe = () -> poller.unsubscribe(emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    private static boolean isTerminal(JsonNode task) {
+        try {
+            return Task.Status.valueOf(task.path("status").asText()).isTerminal();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private class Poller {
+        private final String executionId;
+        private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private final Set<String> completedTaskIds = new HashSet<>();
+        private final List<JsonNode> completedTasks = new ArrayList<>();
+        private final ScheduledFuture<?> schedule;
+        private JsonNode status;
+        private boolean missing;
+        private volatile boolean done;
+
+        Poller(String executionId) {
+            this.executionId = executionId;
+            this.schedule = taskScheduler.scheduleWithFixedDelay(this::tick, pollInterval);
+        }
+
+        void unsubscribe(SseEmitter emitter) {
+            pollers.computeIfPresent(executionId, (key, poller) -> {
+                if (poller != this) {
+                    return poller;
+                }
+                subscribers.remove(emitter);
+                if (!subscribers.isEmpty()) {
+                    return poller;
+                }
+                schedule.cancel(false);
+                return null;
+            });
+        }
+
+        synchronized void subscribe(SseEmitter emitter) {
+            subscribers.add(emitter);
+            if (status == null) {
+                return;
+            }
+            completedTasks.forEach(task -> send(emitter, "task", task));
+            send(emitter, missing ? "error" : "status", status);
+            if (done) {
+                emitter.complete();
+            }
+        }
+
+        private void tick() {
+            if (!polling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                outboundExecutor.execute(() -> {
+                    try {
+                        poll();
+                    } finally {
+                        polling.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                polling.set(false);
+            }
+        }
+
+        private void poll() {
+            boolean finished;
+            try {
+                finished = publish(fetch(executionId, true));
+            } catch (ConductorClientException e) {
+                if (e.getStatus() != HttpStatus.NOT_FOUND.value()) {
+                    log.warn("Failed to poll execution {}", executionId, e);
+                    return;
+                }
+                finished = notFound();
+            } catch (RuntimeException e) {
+                log.warn("Failed to poll execution {}", executionId, e);
+                return;
+            }
+            if (finished) {
+                schedule.cancel(false);
+                pollers.remove(executionId, this);
+            }
+        }
+
+        private synchronized boolean publish(JsonNode execution) {
+            for (var task : execution.path("tasks")) {
+                if (isTerminal(task) && completedTaskIds.add(task.path("taskId").asText())) {
+                    var summary = project(task, TASK_FIELDS);
+                    completedTasks.add(summary);
+                    subscribers.forEach(emitter -> send(emitter, "task", summary));
+                }
+            }
+            var latest = summarize(execution);
+            latest.remove("currentTask");
+            if (!latest.path("status").equals(status == null ? null : status.path("status"))) {
+                status = latest;
+                subscribers.forEach(emitter -> send(emitter, "status", latest));
+            }
+            if (!isTerminalWorkflow(execution)) {
+                return false;
+            }
+            finish();
+            return true;
+        }
+
+        private synchronized boolean notFound() {
+            var error = JsonNodeFactory.instance.objectNode()
+                .put("status", HttpStatus.NOT_FOUND.value())
+                .put("message", "Execution " + executionId + " not found");
+            status = error;
+            missing = true;
+            subscribers.forEach(emitter -> send(emitter, "error", error));
+            finish();
+            return true;
+        }
+
+        private void finish() {
+            done = true;
+            subscribers.forEach(SseEmitter::complete);
+        }
+
+        private boolean isTerminalWorkflow(JsonNode execution) {
+            try {
+                return Workflow.WorkflowStatus.valueOf(execution.path("status").asText()).isTerminal();
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        private void send(SseEmitter emitter, String event, JsonNode data) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
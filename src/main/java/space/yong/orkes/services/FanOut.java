@@ -0,0 +1,66 @@
+package space.yong.orkes.services;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+public class FanOut<T> {
+    private final CompletionService<T> completion;
+    private final int concurrency;
+    private final Sink<T> sink;
+    private int inFlight;
+
+    @FunctionalInterface
+    public interface Sink<T> {
+        void accept(T result) throws IOException;
+    }
+
+    public FanOut(Executor executor, int concurrency, Sink<T> sink) {
+        this.completion = new ExecutorCompletionService<>(executor);
+        this.concurrency = concurrency;
+        this.sink = sink;
+    }
+
+    public void submit(Callable<T> task) throws IOException {
+        for (Future<T> done = completion.poll(); done != null; done = completion.poll()) {
+            emit(done);
+        }
+        if (inFlight >= concurrency) {
+            emit(take());
+        }
+        completion.submit(task);
+        inFlight++;
+    }
+
+    public void drain() throws IOException {
+        while (inFlight > 0) {
+            emit(take());
+        }
+    }
+
+    private Future<T> take() throws IOException {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void emit(Future<T> done) throws IOException {
+        inFlight--;
+        try {
+            sink.accept(done.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
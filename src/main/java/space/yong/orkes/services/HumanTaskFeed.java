@@ -0,0 +1,202 @@
+package space.yong.orkes.services;
+
+import static com.netflix.conductor.client.http.ConductorClientRequest.Method.POST;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.netflix.conductor.client.http.ConductorClientRequest;
+import io.orkes.conductor.client.ApiClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import space.yong.orkes.config.Bulkheads;
+import space.yong.orkes.services.OrkesService.HumanTaskUserAssignee;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class HumanTaskFeed {
+    private final ApiClient client;
+    private final Bulkheads bulkheads;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService outboundExecutor;
+    private final Map<HumanTaskUserAssignee, Poller> pollers = new ConcurrentHashMap<>();
+    @Value("${human-tasks.page-size}")
+    private int pageSize;
+    @Value("${human-tasks.poll-interval}")
+    private Duration pollInterval;
+    @Value("${human-tasks.stream-timeout}")
+    private Duration streamTimeout;
+
+    public record TaskDelta(List<Object> added, List<String> removed) {}
+
+    public HumanTaskFeed(ApiClient client, Bulkheads bulkheads, TaskScheduler taskScheduler, ExecutorService outboundExecutor) {
+        this.client = client;
+        this.bulkheads = bulkheads;
+        this.taskScheduler = taskScheduler;
+        this.outboundExecutor = outboundExecutor;
+    }
+
+    public Map<String, Object> searchBody(List<HumanTaskUserAssignee> assignees) {
+        return Map.of(
+            "size", pageSize,
+            "states", List.of("ASSIGNED"),
+            "assignees", assignees
+        );
+    }
+
+    public Map<String, Object> search(List<HumanTaskUserAssignee> assignees) {
+        var request = ConductorClientRequest.builder()
+            .method(POST)
+            .path("/human/tasks/search")
+            .body(searchBody(assignees))
+            .build();
+        return bulkheads.humanTask().call("human-task.search", () -> client.execute(request, new TypeReference<Map<String, Object>>() {})).getData();
+    }
+
+    public SseEmitter subscribe(List<HumanTaskUserAssignee> assignees) {
+        var emitter = new SseEmitter(streamTimeout.toMillis());
+        var distinct = assignees.stream().distinct().toList();
+        var subscription = new Subscription(emitter, distinct.size());
+        var subscribed = distinct.stream()
+            .map(assignee -> pollers.compute(assignee, (key, poller) -> {
+                var target = poller != null ? poller : new Poller(key);
+                target.subscribe(subscription);
+                return target;
+            }))
+            .toList();
+        Runnable unsubscribe = () -> subscribed.forEach(poller -> poller.unsubscribe(subscription));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    private class Poller {
+        private final HumanTaskUserAssignee assignee;
+        private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private final ScheduledFuture<?> schedule;
+        private Map<String, Object> tasks = Map.of();
+        private boolean polled;
+
+        Poller(HumanTaskUserAssignee assignee) {
+            this.assignee = assignee;
+            this.schedule = taskScheduler.scheduleWithFixedDelay(this::tick, pollInterval);
+        }
+
+        synchronized void subscribe(Subscription subscription) {
+            subscribers.add(subscription);
+            if (polled) {
+                subscription.update(assignee, tasks);
+            }
+        }
+
+        void unsubscribe(Subscription subscription) {
+            pollers.computeIfPresent(assignee, (key, poller) -> {
+                poller.subscribers.remove(subscription);
+                if (poller != this || !poller.subscribers.isEmpty()) {
+                    return poller;
+                }
+                poller.schedule.cancel(false);
+                return null;
+            });
+        }
+
+        private void tick() {
+            if (!polling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                outboundExecutor.execute(() -> {
+                    try {
+                        poll();
+                    } finally {
+                        polling.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                polling.set(false);
+            }
+        }
+
+        private void poll() {
+            Map<String, Object> latest = new LinkedHashMap<>();
+            try {
+                var results = search(List.of(assignee)).get("results");
+                if (results instanceof List<?> entries) {
+                    for (var entry : entries) {
+                        if (entry instanceof Map<?, ?> task && task.get("taskId") != null) {
+                            latest.put(task.get("taskId").toString(), task);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to poll human tasks for {}", assignee, e);
+                return;
+            }
+            publish(latest);
+        }
+
+        private synchronized void publish(Map<String, Object> latest) {
+            tasks = latest;
+            polled = true;
+            subscribers.forEach(subscription -> subscription.update(assignee, latest));
+        }
+    }
+
+    private static class Subscription {
+        private final SseEmitter emitter;
+        private final int assignees;
+        private final Map<HumanTaskUserAssignee, Map<String, Object>> views = new HashMap<>();
+        private Map<String, Object> merged = Map.of();
+        private boolean seeded;
+
+        Subscription(SseEmitter emitter, int assignees) {
+            this.emitter = emitter;
+            this.assignees = assignees;
+        }
+
+        synchronized void update(HumanTaskUserAssignee assignee, Map<String, Object> tasks) {
+            views.put(assignee, tasks);
+            if (views.size() < assignees) {
+                return;
+            }
+            Map<String, Object> latest = new LinkedHashMap<>();
+            views.values().forEach(latest::putAll);
+            List<Object> added = latest.entrySet().stream()
+                .filter(entry -> !merged.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+            List<String> removed = merged.keySet().stream()
+                .filter(taskId -> !latest.containsKey(taskId))
+                .toList();
+            merged = latest;
+            if (!seeded) {
+                seeded = true;
+                send("snapshot", new TaskDelta(added, List.of()));
+            } else if (!added.isEmpty() || !removed.isEmpty()) {
+                send("tasks", new TaskDelta(added, removed));
+            }
+        }
+
+        private void send(String event, TaskDelta delta) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(delta));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
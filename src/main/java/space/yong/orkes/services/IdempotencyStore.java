@@ -0,0 +1,77 @@
+package space.yong.orkes.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyStore {
+    private final ObjectWriter canonicalWriter;
+    private final ExecutorService outboundExecutor;
+    private final AsyncCache<Key, Object> starts;
+    @Value("${idempotency.enabled}")
+    private boolean enabledByDefault;
+
+    public record Key(String operation, String workflowName, Integer version, String correlationId, String inputHash) {}
+
+    public IdempotencyStore(
+        ObjectMapper objectMapper,
+        ExecutorService outboundExecutor,
+        @Value("${idempotency.maximum-size}") long maximumSize,
+        @Value("${idempotency.expire-after-write}") Duration expireAfterWrite
+    ) {
+        this.canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.outboundExecutor = outboundExecutor;
+        this.starts = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .buildAsync();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> deduplicate(
+        Boolean requested,
+        String operation,
+        StartWorkflowRequest request,
+        Supplier<CompletableFuture<T>> start
+    ) {
+        boolean enabled = requested != null ? requested : enabledByDefault;
+        if (!enabled || request.getCorrelationId() == null) {
+            return start.get();
+        }
+        var key = new Key(operation, request.getName(), request.getVersion(), request.getCorrelationId(), hash(request));
+        var original = new boolean[1];
+        CompletableFuture<Object> shared = starts.get(key, (k, executor) -> {
+            original[0] = true;
+            return CompletableFuture.supplyAsync(start, outboundExecutor).thenCompose(future -> future);
+        });
+        if (!original[0]) {
+            log.info("Joining existing {} of {} for correlation id {}", operation, request.getName(), request.getCorrelationId());
+        }
+        return shared.thenApply(value -> (T) value);
+    }
+
+    private String hash(StartWorkflowRequest request) {
+        try {
+            byte[] input = canonicalWriter.writeValueAsBytes(request.getInput());
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package space.yong.orkes.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class ImagePreprocessor {
+    private static final String JPEG_METADATA = "javax_imageio_jpeg_image_1.0";
+
+    @Value("${infer-image.preprocess.enabled}")
+    private boolean enabled;
+    @Value("${infer-image.preprocess.max-dimension}")
+    private int maxDimension;
+    @Value("${infer-image.preprocess.quality}")
+    private float quality;
+    private final Timer duration;
+    private final DistributionSummary bytesSaved;
+    private final Counter passthrough;
+
+    public ImagePreprocessor(MeterRegistry registry) {
+        this.duration = Timer.builder("invoice.preprocess.duration").register(registry);
+        this.bytesSaved = DistributionSummary.builder("invoice.preprocess.bytes.saved").baseUnit("bytes").register(registry);
+        this.passthrough = Counter.builder("invoice.preprocess.passthrough").register(registry);
+    }
+
+    public byte[] preprocess(byte[] content) {
+        if (!enabled) {
+            return content;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] result = transcode(content);
+            if (result == null || result.length >= content.length) {
+                passthrough.increment();
+                return content;
+            }
+            bytesSaved.record(content.length - result.length);
+            log.info("Preprocessed invoice image from {} to {} bytes", content.length, result.length);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to preprocess invoice image, sending original", e);
+            passthrough.increment();
+            return content;
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private byte[] transcode(byte[] content) throws IOException {
+        try (var input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            var readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, false, false);
+                boolean tiff = reader.getFormatName().toLowerCase().startsWith("tif");
+                int pages = tiff ? reader.getNumImages(true) : 1;
+                return pages > 1 ? writeTiff(reader, pages) : writeJpeg(read(reader, 0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage read(ImageReader reader, int index) throws IOException {
+        int width = reader.getWidth(index);
+        int height = reader.getHeight(index);
+        var param = reader.getDefaultReadParam();
+        int subsampling = Math.max(1, Math.max(width, height) / maxDimension);
+        if (subsampling > 1) {
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
+        int orientation = exifOrientation(reader.getImageMetadata(index));
+        return render(reader.read(index, param), orientation);
+    }
+
+    private BufferedImage render(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(w, h));
+        boolean swap = orientation >= 5 && orientation <= 8;
+        int width = (int) Math.round((swap ? h : w) * scale);
+        int height = (int) Math.round((swap ? w : h) * scale);
+
+        var transform = AffineTransform.getScaleInstance(scale, scale);
+        switch (orientation) {
+            case 2 -> { transform.translate(w, 0); transform.scale(-1, 1); }
+            case 3 -> { transform.translate(w, h); transform.rotate(Math.PI); }
+            case 4 -> { transform.translate(0, h); transform.scale(1, -1); }
+            case 5 -> { transform.rotate(Math.PI / 2); transform.scale(1, -1); }
+            case 6 -> { transform.translate(h, 0); transform.rotate(Math.PI / 2); }
+            case 7 -> { transform.translate(h, w); transform.rotate(Math.PI / 2); transform.scale(-1, 1); }
+            case 8 -> { transform.translate(0, w); transform.rotate(-Math.PI / 2); }
+            default -> {}
+        }
+
+        var target = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        var graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        var out = new ByteArrayOutputStream();
+        try (var output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            var param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] writeTiff(ImageReader reader, int pages) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        var out = new ByteArrayOutputStream();
+        try (var output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            var param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType("JPEG");
+            param.setCompressionQuality(quality);
+            writer.prepareWriteSequence(null);
+            for (int page = 0; page < pages; page++) {
+                writer.writeToSequence(new IIOImage(read(reader, page), null, null), param);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !List.of(metadata.getMetadataFormatNames()).contains(JPEG_METADATA)) {
+            return 1;
+        }
+        var markers = ((IIOMetadataNode) metadata.getAsTree(JPEG_METADATA)).getElementsByTagName("unknown");
+        for (int i = 0; i < markers.getLength(); i++) {
+            var marker = (IIOMetadataNode) markers.item(i);
+            if ("225".equals(marker.getAttribute("MarkerTag")) && marker.getUserObject() instanceof byte[] app1) {
+                int orientation = parseOrientation(app1);
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static int parseOrientation(byte[] app1) {
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 0;
+        }
+        var tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                return tiff.getShort(entry + 8) & 0xFFFF;
+            }
+        }
+        return 0;
+    }
+}
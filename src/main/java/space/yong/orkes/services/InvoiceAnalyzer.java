@@ -0,0 +1,130 @@
+package space.yong.orkes.services;
+
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClient;
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClientBuilder;
+import com.azure.core.credential.AzureKeyCredential;
+import com.azure.core.util.BinaryData;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
+import space.yong.orkes.config.Bulkheads;
+import space.yong.orkes.services.AzureAiService.Invoice;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+public class InvoiceAnalyzer {
+    @Value("${azure-doc-intel.endpoint}")
+    private String endpoint;
+    @Value("${azure-doc-intel.key}")
+    private String key;
+    private final Bulkheads bulkheads;
+    private final ImagePreprocessor imagePreprocessor;
+    private final MeterRegistry registry;
+    private final AsyncCache<String, Invoice> results;
+    private final Cache<String, CompletableFuture<Invoice>> jobs;
+    private final SingletonSupplier<DocumentAnalysisClient> client = SingletonSupplier.of(this::createClient);
+
+    public enum JobStatus { RUNNING, SUCCEEDED, FAILED }
+    public record Job(String jobId, JobStatus status, Invoice invoice, String error) {}
+
+    public InvoiceAnalyzer(
+        Bulkheads bulkheads,
+        ImagePreprocessor imagePreprocessor,
+        MeterRegistry registry,
+        ExecutorService outboundExecutor,
+        @Value("${infer-image.result-cache.maximum-size}") long maximumSize,
+        @Value("${infer-image.result-cache.expire-after-write}") Duration resultTtl,
+        @Value("${infer-image.jobs.maximum-size}") long maximumJobs,
+        @Value("${infer-image.jobs.expire-after-write}") Duration jobTtl
+    ) {
+        this.bulkheads = bulkheads;
+        this.imagePreprocessor = imagePreprocessor;
+        this.registry = registry;
+        this.results = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(resultTtl)
+            .executor(outboundExecutor)
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, results.synchronous(), "invoiceResults");
+        this.jobs = Caffeine.newBuilder()
+            .maximumSize(maximumJobs)
+            .expireAfterWrite(jobTtl)
+            .build();
+    }
+
+    public CompletableFuture<Invoice> analyze(byte[] content) {
+        return results.get(sha256(content), hash -> extract(hash, content));
+    }
+
+    public Job submit(byte[] content) {
+        var jobId = UUID.randomUUID().toString();
+        var future = analyze(content);
+        jobs.put(jobId, future);
+        return toJob(jobId, future);
+    }
+
+    public Optional<Job> job(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(future -> toJob(jobId, future));
+    }
+
+    public Optional<CompletableFuture<Job>> awaitJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+            .map(future -> future.handle((invoice, e) -> toJob(jobId, future)));
+    }
+
+    private DocumentAnalysisClient createClient() {
+        log.info("Creating Document Intelligence client for {}", endpoint);
+        return new DocumentAnalysisClientBuilder()
+            .credential(new AzureKeyCredential(key))
+            .endpoint(endpoint)
+            .buildClient();
+    }
+
+    private Invoice extract(String hash, byte[] content) {
+        byte[] prepared = imagePreprocessor.preprocess(content);
+        log.info("Analyzing invoice {} ({} bytes, {} sent)", hash, content.length, prepared.length);
+        var data = BinaryData.fromBytes(prepared);
+        var analyzeTimer = Timer.builder("invoice.analyze.duration")
+            .tag("preprocessed", String.valueOf(prepared != content))
+            .register(registry);
+        var analyzeInvoiceResult = analyzeTimer.record(() -> bulkheads.documentIntelligence().call("azure.analyze", () -> {
+            var analyzeInvoicePoller = client.obtain().beginAnalyzeDocument("prebuilt-invoice", data);
+            return analyzeInvoicePoller.getFinalResult();
+        }));
+        var analyzedInvoice = analyzeInvoiceResult.getDocuments().getFirst();
+        return InvoiceMapper.toInvoice(analyzedInvoice.getFields());
+    }
+
+    private static Job toJob(String jobId, CompletableFuture<Invoice> future) {
+        return switch (future.state()) {
+            case RUNNING -> new Job(jobId, JobStatus.RUNNING, null, null);
+            case SUCCESS -> new Job(jobId, JobStatus.SUCCEEDED, future.resultNow(), null);
+            case FAILED -> new Job(jobId, JobStatus.FAILED, null, future.exceptionNow().getMessage());
+            case CANCELLED -> new Job(jobId, JobStatus.FAILED, null, "Cancelled");
+        };
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package space.yong.orkes.services;
+
+import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.CURRENCY;
+import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.DATE;
+import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.LIST;
+import static com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType.STRING;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentField;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentFieldType;
+import space.yong.orkes.services.AzureAiService.Invoice;
+import space.yong.orkes.services.AzureAiService.InvoiceItem;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class InvoiceMapper {
+    private InvoiceMapper() {}
+
+    public static Invoice toInvoice(Map<String, DocumentField> fields) {
+        DocumentField vendorNameField = fields.get("VendorName");
+        String vendorName = vendorNameField != null && STRING == vendorNameField.getType()
+            ? vendorNameField.getValueAsString() : "";
+
+        DocumentField invoiceIdField = fields.get("InvoiceId");
+        String invoiceNumber = invoiceIdField != null && STRING == invoiceIdField.getType()
+            ? invoiceIdField.getValueAsString() : "";
+
+        DocumentField dateField = fields.get("InvoiceDate");
+        LocalDate invoiceDate = dateField != null  && DATE == dateField.getType()
+            ? dateField.getValueAsDate() : null;
+
+        DocumentField invoiceTotalField = fields.get("InvoiceTotal");
+        double invoiceTotal = invoiceTotalField != null && CURRENCY == invoiceTotalField.getType()
+            ? invoiceTotalField.getValueAsCurrency().getAmount() : 0;
+
+        DocumentField itemsField = fields.get("Items");
+        List<InvoiceItem> items = (itemsField != null && LIST == itemsField.getType()) ?
+            itemsField.getValueAsList().stream()
+                .filter(item -> DocumentFieldType.MAP == item.getType())
+                .map(DocumentField::getValueAsMap)
+                .map(item -> {
+                    String description = item.get("Description") != null ? item.get("Description").getValueAsString() : "";
+                    long quantity = item.get("Quantity") != null ? item.get("Quantity").getValueAsDouble().longValue() : 1;
+                    double unitPrice = 0;
+                    DocumentField unitPriceField = item.get("UnitPrice");
+                    if (unitPriceField != null && CURRENCY == unitPriceField.getType()) {
+                        int multiplier = unitPriceField.getContent().contains("-") ? -1 : 1;
+                        unitPrice = unitPriceField.getValueAsCurrency().getAmount() * multiplier;
+                    }
+                    return new InvoiceItem(description, quantity, unitPrice);
+                })
+                .toList()
+            : new ArrayList<>();
+
+        return new Invoice(invoiceNumber, vendorName, invoiceDate, items, invoiceTotal);
+    }
+}
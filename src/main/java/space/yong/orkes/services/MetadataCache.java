@@ -0,0 +1,122 @@
+package space.yong.orkes.services;
+
+import static com.netflix.conductor.client.http.ConductorClientRequest.Method.GET;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.netflix.conductor.client.http.ConductorClientRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.orkes.conductor.client.ApiClient;
+import io.orkes.conductor.client.http.OrkesMetadataClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import space.yong.orkes.config.Bulkheads;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+public class MetadataCache {
+    private final ObjectMapper objectMapper;
+    private final ApiClient client;
+    private final OrkesMetadataClient metadataClient;
+    private final Bulkheads bulkheads;
+    private final ConductorPassthrough passthrough;
+    private final LoadingCache<Key, Entry> cache;
+
+    public enum Type { WORKFLOW_DEF, SCHEMA, TEMPLATE }
+    public record Key(Type type, String name) {}
+    public record Entry(byte[] body, String etag) {}
+    public record Stats(long hits, long misses, double hitRate, long loads, long loadFailures, long evictions, long size) {}
+
+    public MetadataCache(
+        ObjectMapper objectMapper,
+        ApiClient client,
+        OrkesMetadataClient metadataClient,
+        Bulkheads bulkheads,
+        ConductorPassthrough passthrough,
+        MeterRegistry registry,
+        ExecutorService outboundExecutor,
+        @Value("${metadata-cache.maximum-size}") long maximumSize,
+        @Value("${metadata-cache.expire-after-write}") Duration expireAfterWrite,
+        @Value("${metadata-cache.refresh-after-write}") Duration refreshAfterWrite
+    ) {
+        this.objectMapper = objectMapper;
+        this.client = client;
+        this.metadataClient = metadataClient;
+        this.bulkheads = bulkheads;
+        this.passthrough = passthrough;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .refreshAfterWrite(refreshAfterWrite)
+            .executor(outboundExecutor)
+            .recordStats()
+            .build(this::load);
+        CaffeineCacheMetrics.monitor(registry, cache, "metadata");
+    }
+
+    public Entry get(Type type, String name) {
+        return cache.get(new Key(type, name));
+    }
+
+    public void invalidate(Type type, String name) {
+        if (type == null) {
+            cache.invalidateAll();
+        } else if (name == null) {
+            cache.invalidateAll(cache.asMap().keySet().stream().filter(key -> key.type() == type).toList());
+        } else {
+            cache.invalidate(new Key(type, name));
+        }
+    }
+
+    public Stats stats() {
+        var stats = cache.stats();
+        return new Stats(
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.loadCount(),
+            stats.loadFailureCount(),
+            stats.evictionCount(),
+            cache.estimatedSize()
+        );
+    }
+
+    private Entry load(Key key) throws JsonProcessingException {
+        log.info("Loading {} {} into metadata cache", key.type(), key.name());
+        byte[] body = passthrough.isEnabled() ? loadRaw(key) : objectMapper.writeValueAsBytes(loadParsed(key));
+        return new Entry(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    private byte[] loadRaw(Key key) {
+        return switch (key.type()) {
+            case WORKFLOW_DEF -> passthrough.getBytes(bulkheads.workflow(), "metadata.workflow-def", List.of("metadata", "workflow", key.name()), Map.of());
+            case SCHEMA -> passthrough.getBytes(bulkheads.workflow(), "metadata.schema", List.of("schema", key.name()), Map.of());
+            case TEMPLATE -> passthrough.getBytes(bulkheads.humanTask(), "metadata.template", List.of("human", "template"), Map.of("name", key.name()));
+        };
+    }
+
+    private Object loadParsed(Key key) {
+        return switch (key.type()) {
+            case WORKFLOW_DEF -> bulkheads.workflow().call("metadata.workflow-def", () -> metadataClient.getWorkflowDef(key.name(), null));
+            case SCHEMA -> bulkheads.workflow().call("metadata.schema", () -> client.execute(ConductorClientRequest.builder()
+                .method(GET)
+                .path("/schema/{name}")
+                .addPathParam("name", key.name())
+                .build(), new TypeReference<Object>() {}).getData());
+            case TEMPLATE -> bulkheads.humanTask().call("metadata.template", () -> client.execute(ConductorClientRequest.builder()
+                .method(GET)
+                .path("/human/template")
+                .addQueryParam("name", key.name())
+                .build(), new TypeReference<Object>() {}).getData());
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package space.yong.orkes.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+public class NdjsonStream<T> implements FanOut.Sink<T> {
+    private final ObjectMapper objectMapper;
+    private final ResponseBodyEmitter emitter;
+
+    @FunctionalInterface
+    public interface Producer<T> {
+        void produce(NdjsonStream<T> stream) throws Exception;
+    }
+
+    private NdjsonStream(ObjectMapper objectMapper, ResponseBodyEmitter emitter) {
+        this.objectMapper = objectMapper;
+        this.emitter = emitter;
+    }
+
+    public static <T> ResponseEntity<ResponseBodyEmitter> start(
+        Executor executor,
+        ObjectMapper objectMapper,
+        Duration timeout,
+        Producer<T> producer
+    ) {
+        var emitter = new ResponseBodyEmitter(timeout.toMillis());
+        var stream = new NdjsonStream<T>(objectMapper, emitter);
+        executor.execute(() -> {
+            try {
+                producer.produce(stream);
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    @Override
+    public void accept(T result) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(result);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        emitter.send(line);
+    }
+}
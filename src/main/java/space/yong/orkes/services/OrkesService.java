@@ -1,26 +1,28 @@
 package space.yong.orkes.services;
 
-import static com.netflix.conductor.client.http.ConductorClientRequest.Method.GET;
 import static com.netflix.conductor.client.http.ConductorClientRequest.Method.POST;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.conductor.client.http.ConductorClientRequest;
-import com.netflix.conductor.client.http.ConductorClientResponse;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
-import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.WorkflowSummary;
 import io.orkes.conductor.client.ApiClient;
 import io.orkes.conductor.client.enums.Consistency;
 import io.orkes.conductor.client.enums.ReturnStrategy;
-import io.orkes.conductor.client.http.OrkesMetadataClient;
 import io.orkes.conductor.client.http.OrkesTaskClient;
 import io.orkes.conductor.client.http.OrkesWorkflowClient;
 import io.orkes.conductor.client.model.SignalResponse;
 import io.orkes.conductor.client.model.WorkflowRun;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,9 +31,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import space.yong.orkes.config.Bulkheads;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @Slf4j
 @RestController
@@ -40,49 +56,107 @@ public class OrkesService {
     private final ObjectMapper objectMapper;
     private final ApiClient client;
     private final OrkesWorkflowClient workflowClient;
-    private final OrkesMetadataClient metadataClient;
     private final OrkesTaskClient taskClient;
+    private final MetadataCache metadataCache;
+    private final HumanTaskFeed humanTaskFeed;
+    private final ExecutionSearch executionSearch;
+    private final ExecutionWatcher executionWatcher;
+    private final IdempotencyStore idempotencyStore;
+    private final SignalDispatcher signalDispatcher;
+    private final ConductorPassthrough passthrough;
+    private final AuditLog auditLog;
+    private final ExecutorService outboundExecutor;
+    private final Bulkheads bulkheads;
+    @Value("${orkes.execute.wait-seconds}")
+    private int executeWaitSeconds;
+    @Value("${orkes.execute.timeout}")
+    private Duration executeTimeout;
+    @Value("${human-tasks.bulk.concurrency}")
+    private int bulkConcurrency;
+    @Value("${human-tasks.bulk.max-tasks}")
+    private int bulkMaxTasks;
+    @Value("${orkes.bulk-start.concurrency}")
+    private int bulkStartConcurrency;
+    @Value("${orkes.bulk-start.timeout}")
+    private Duration bulkStartTimeout;
 
     public record HumanTaskUserAssignee(String userType, Object user) {}
+    public record HumanTaskCompletion(String taskId, Map<String, Object> output) {}
+    public record HumanTaskResult(String taskId, boolean claimed, boolean completed, String error) {}
+    public record BulkStartResult(long line, String executionId, String error) {}
 
     @PostMapping("execute/{workflowName}/{version}")
-    public WorkflowRun executeWorkflow(
+    public DeferredResult<WorkflowRun> executeWorkflow(
         Authentication auth,
         @PathVariable String workflowName,
         @PathVariable int version,
-        @RequestBody Map<String, Object> input
-    ) throws JsonProcessingException, ExecutionException, InterruptedException {
-        String inputString = objectMapper.writeValueAsString(input);
-        log.info("{} executing versioned {} (v{}): {}", auth.getPrincipal(), workflowName, version, inputString);
+        @RequestBody Map<String, Object> input,
+        @RequestParam(required = false) Boolean idempotent
+    ) {
+        auditLog.record("execute", input, "{} executing versioned {} (v{})", auth.getPrincipal(), workflowName, version);
 
-        var request = new StartWorkflowRequest();
-        request.setName(workflowName);
-        request.setVersion(version);
-        if (input.containsKey("correlationId")) {
-            request.setCorrelationId(input.get("correlationId").toString());
-            input.remove("correlationId");
-        }
-        request.setInput(input);
-        return workflowClient.executeWorkflow(request, "", 60).get();
+        var request = startRequest(workflowName, version, input);
+        return deferred(idempotencyStore.deduplicate(idempotent, "execute", request, () ->
+            bulkheads.execute().callAsync("workflow.execute", () -> passthrough.postAsync(
+                List.of("workflow", "execute", workflowName, String.valueOf(version)),
+                Map.of("requestId", UUID.randomUUID().toString(), "waitUntilTaskRef", "", "waitForSeconds", String.valueOf(executeWaitSeconds)),
+                request,
+                executeTimeout,
+                WorkflowRun.class
+            ))
+        ));
     }
 
     @PostMapping("execute/{workflowName}")
-    public SignalResponse executeSyncWorkflow(
+    public DeferredResult<SignalResponse> executeSyncWorkflow(
         Authentication auth,
         @PathVariable String workflowName,
-        @RequestBody Map<String, Object> input
-    ) throws JsonProcessingException, ExecutionException, InterruptedException {
-        String inputString = objectMapper.writeValueAsString(input);
-        log.info("{} executing {}: {}", auth.getPrincipal(), workflowName, inputString);
+        @RequestBody Map<String, Object> input,
+        @RequestParam(required = false) Boolean idempotent
+    ) {
+        auditLog.record("execute-sync", input, "{} executing {}", auth.getPrincipal(), workflowName);
 
-        var request = new StartWorkflowRequest();
-        request.setName(workflowName);
-        if (input.containsKey("correlationId")) {
-            request.setCorrelationId(input.get("correlationId").toString());
-            input.remove("correlationId");
+        var request = startRequest(workflowName, null, input);
+        return deferred(idempotencyStore.deduplicate(idempotent, "execute-sync", request, () -> bulkheads.execute().callAsync("workflow.execute-sync", () ->
+            passthrough.postAsync(
+                List.of("workflow", "execute", workflowName),
+                Map.of(
+                    "requestId", UUID.randomUUID().toString(),
+                    "waitForSeconds", String.valueOf(executeWaitSeconds),
+                    "consistency", Consistency.SYNCHRONOUS.name(),
+                    "returnStrategy", ReturnStrategy.BLOCKING_TASK_INPUT.name()
+                ),
+                request,
+                executeTimeout,
+                SignalResponse.class
+            )
+        )));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        request.setInput(input);
-        return workflowClient.executeWorkflowWithReturnStrategy(request,null,60, Consistency.SYNCHRONOUS, ReturnStrategy.BLOCKING_TASK_INPUT).get();
+    }
+
+    private <T> DeferredResult<T> deferred(CompletableFuture<T> future) {
+        var result = new DeferredResult<T>(executeTimeout.toMillis());
+        result.onTimeout(() -> future.cancel(true));
+        result.onError(e -> future.cancel(true));
+        result.onCompletion(() -> future.cancel(true));
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                result.setErrorResult(e instanceof CompletionException ? e.getCause() : e);
+            } else {
+                result.setResult(value);
+            }
+        });
+        return result;
     }
 
     @PostMapping("start/{workflowName}/{version}")
@@ -90,43 +164,99 @@ public class OrkesService {
         Authentication auth,
         @PathVariable String workflowName,
         @PathVariable int version,
-        @RequestBody Map<String, Object> input
-    ) throws JsonProcessingException {
-        String inputString = objectMapper.writeValueAsString(input);
-        log.info("{} starting {} (v{}): {}", auth.getPrincipal(), workflowName, version, inputString);
+        @RequestBody Map<String, Object> input,
+        @RequestParam(required = false) Boolean idempotent
+    ) {
+        auditLog.record("start", input, "{} starting {} (v{})", auth.getPrincipal(), workflowName, version);
+
+        StartWorkflowRequest request = startRequest(workflowName, version, input);
+
+        String executionId = join(idempotencyStore.deduplicate(idempotent, "start", request, () ->
+            CompletableFuture.completedFuture(bulkheads.workflow().call("workflow.start", () -> workflowClient.startWorkflow(request)))
+        ));
+        log.info("Execution ID: {}", executionId);
+        return executionId;
+    }
 
-        StartWorkflowRequest request = new StartWorkflowRequest();
+    @PostMapping(value = "start/{workflowName}/{version}/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> bulkStartWorkflows(
+        Authentication auth,
+        @PathVariable String workflowName,
+        @PathVariable int version,
+        @RequestParam(required = false) Boolean idempotent,
+        HttpServletRequest servletRequest
+    ) {
+        log.info("{} bulk starting {} (v{})", auth.getPrincipal(), workflowName, version);
+        return NdjsonStream.<BulkStartResult>start(outboundExecutor, objectMapper, bulkStartTimeout, stream -> {
+            var fanOut = new FanOut<>(outboundExecutor, bulkStartConcurrency, stream);
+            long lineNumber = 0;
+            try (var reader = new BufferedReader(new InputStreamReader(servletRequest.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    long current = ++lineNumber;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    String json = line;
+                    fanOut.submit(() -> startLine(workflowName, version, idempotent, current, json));
+                }
+            }
+            fanOut.drain();
+            log.info("Bulk start of {} (v{}) read {} lines", workflowName, version, lineNumber);
+        });
+    }
+
+    private BulkStartResult startLine(String workflowName, int version, Boolean idempotent, long line, String json) {
+        try {
+            Map<String, Object> input = objectMapper.readValue(json, new TypeReference<>() {});
+            var request = startRequest(workflowName, version, input);
+            String executionId = join(idempotencyStore.deduplicate(idempotent, "start", request, () ->
+                CompletableFuture.completedFuture(bulkheads.workflow().call("workflow.start", () -> workflowClient.startWorkflow(request)))
+            ));
+            return new BulkStartResult(line, executionId, null);
+        } catch (Exception e) {
+            return new BulkStartResult(line, null, e.getMessage());
+        }
+    }
+
+    private static StartWorkflowRequest startRequest(String workflowName, Integer version, Map<String, Object> input) {
+        var request = new StartWorkflowRequest();
+        request.setName(workflowName);
+        request.setVersion(version);
         if (input.containsKey("correlationId")) {
             request.setCorrelationId(input.get("correlationId").toString());
             input.remove("correlationId");
         }
         request.setInput(input);
-        request.setName(workflowName);
-        request.setVersion(version);
-
-        String executionId = workflowClient.startWorkflow(request);
-        log.info("Execution ID: {}", executionId);
-        return executionId;
+        return request;
     }
 
     @GetMapping("human-tasks")
-    public Object listHumanTasks(Authentication auth) {
+    public Object listHumanTasks(
+        Authentication auth,
+        HttpServletRequest servletRequest,
+        HttpServletResponse servletResponse
+    ) throws IOException {
         log.info("Listing human tasks for {}", auth.getPrincipal());
-        var body = Map.of(
-            "size", 15,
-            "states", List.of("ASSIGNED"),
-            "assignees", List.of(
-                new HumanTaskUserAssignee("EXTERNAL_USER", auth.getPrincipal()),
-                new HumanTaskUserAssignee("EXTERNAL_GROUP", "LABS")
-            )
+        var assignees = humanTaskAssignees(auth);
+        if (passthrough.isEnabled()) {
+            var body = humanTaskFeed.searchBody(assignees);
+            passthrough.post(bulkheads.humanTask(), "human-task.search", List.of("human", "tasks", "search"), body, servletRequest, servletResponse);
+            return null;
+        }
+        return humanTaskFeed.search(assignees);
+    }
+
+    @GetMapping("human-tasks/stream")
+    public SseEmitter streamHumanTasks(Authentication auth) {
+        log.info("Streaming human tasks for {}", auth.getPrincipal());
+        return humanTaskFeed.subscribe(humanTaskAssignees(auth));
+    }
+
+    private static List<HumanTaskUserAssignee> humanTaskAssignees(Authentication auth) {
+        return List.of(
+            new HumanTaskUserAssignee("EXTERNAL_USER", auth.getPrincipal()),
+            new HumanTaskUserAssignee("EXTERNAL_GROUP", "LABS")
         );
-        var request = ConductorClientRequest.builder()
-            .method(POST)
-            .path("/human/tasks/search")
-            .body(body)
-            .build();
-        ConductorClientResponse<Object> resp = client.execute(request, new TypeReference<>() {});
-        return resp.getData();
     }
 
     @PostMapping("human-tasks/{taskId}")
@@ -134,113 +264,190 @@ public class OrkesService {
         Authentication auth,
         @PathVariable String taskId,
         @RequestBody Map<String, Object> input
-    ) throws JsonProcessingException {
-        String inputString = objectMapper.writeValueAsString(input);
-        log.info("Claim and complete human task by {}: {}", auth.getPrincipal(), inputString);
+    ) {
+        auditLog.record("human-task", input, "Claim and complete human task {} by {}", taskId, auth.getPrincipal());
+
+        claimHumanTask(auth.getPrincipal().toString(), taskId);
+        completeHumanTask(taskId, input);
+    }
+
+    @PostMapping("human-tasks")
+    public List<HumanTaskResult> claimAndCompleteHumanTasks(
+        Authentication auth,
+        @RequestBody List<HumanTaskCompletion> tasks
+    ) throws IOException {
+        log.info("Bulk claim and complete {} human tasks by {}", tasks.size(), auth.getPrincipal());
+        if (tasks.size() > bulkMaxTasks) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Bulk request exceeds " + bulkMaxTasks + " tasks");
+        }
+        String user = auth.getPrincipal().toString();
+        var results = new HumanTaskResult[tasks.size()];
+        var fanOut = new FanOut<HumanTaskResult>(outboundExecutor, bulkConcurrency, result -> {});
+        for (int i = 0; i < tasks.size(); i++) {
+            int index = i;
+            fanOut.submit(() -> results[index] = tryClaimAndComplete(user, tasks.get(index)));
+        }
+        fanOut.drain();
+        return List.of(results);
+    }
+
+    private HumanTaskResult tryClaimAndComplete(String user, HumanTaskCompletion task) {
+        boolean claimed = false;
+        try {
+            claimHumanTask(user, task.taskId());
+            claimed = true;
+            completeHumanTask(task.taskId(), task.output() != null ? task.output() : Map.of());
+            return new HumanTaskResult(task.taskId(), true, true, null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to claim and complete human task {} for {}", task.taskId(), user, e);
+            return new HumanTaskResult(task.taskId(), claimed, false, e.getMessage());
+        }
+    }
 
-        client.execute(ConductorClientRequest.builder()
+    private void claimHumanTask(String user, String taskId) {
+        bulkheads.humanTask().call("human-task.claim", () -> client.execute(ConductorClientRequest.builder()
             .method(POST)
             .path("/human/tasks/{taskId}/externalUser/{user}")
             .addPathParam("taskId", taskId)
-            .addPathParam("user", auth.getPrincipal().toString())
-            .build());
+            .addPathParam("user", user)
+            .build()));
+    }
 
-        client.execute(ConductorClientRequest.builder()
+    private void completeHumanTask(String taskId, Map<String, Object> output) {
+        bulkheads.humanTask().call("human-task.update", () -> client.execute(ConductorClientRequest.builder()
             .method(POST)
             .path("/human/tasks/{taskId}/update")
             .addPathParam("taskId", taskId)
             .addQueryParam("complete", "true")
-            .body(input)
-            .build());
+            .body(output)
+            .build()));
     }
 
     @GetMapping("human-template")
-    public Object getTemplate(
+    public ResponseEntity<byte[]> getTemplate(
         Authentication auth,
         @RequestParam String name
     ) {
         log.info("{} getting template {}", auth.getPrincipal(), name);
-        var request = ConductorClientRequest.builder()
-            .method(GET)
-            .path("/human/template")
-            .addQueryParam("name", name)
-            .build();
-        ConductorClientResponse<List<Object>> resp = client.execute(request, new TypeReference<>() {});
-        return resp.getData();
+        return cachedMetadata(MetadataCache.Type.TEMPLATE, name);
     }
 
     @GetMapping("search-executions")
-    public List<WorkflowSummary> searchExecutions(
+    public CompletableFuture<ResponseEntity<List<WorkflowSummary>>> searchExecutions(
         Authentication auth,
         @RequestParam String workflowName,
         @RequestParam(defaultValue = "false") boolean identityCorrelation,
         @RequestParam String status,
-        @RequestParam(defaultValue = "1") int size
+        @RequestParam(defaultValue = "1") int size,
+        @RequestParam(required = false) String cursor
     ) {
         String email = auth.getPrincipal().toString();
         log.info("Searching executions for {} ({})", workflowName, email);
-        String query = "workflowType IN (" + workflowName + ")";
-        if (identityCorrelation) {
-            query += " AND correlationId IN (" + email + ")";
-        }
-        if (status != null && !status.isBlank()) {
-            query += " AND status IN (" + status + ")";
-        }
-        log.info("Search query: {}", query);
-        return workflowClient.search(0, size, "startTime:DESC", null, query).getResults();
+        var query = executionSearch.query(workflowName, status, identityCorrelation ? email : null, cursor, size);
+        return executionSearch.search(query).thenApply(page -> {
+            var response = ResponseEntity.ok().header("X-Total-Hits", String.valueOf(page.totalHits()));
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.results());
+        });
     }
 
     @GetMapping("execution/{executionId}")
     public Object getExecution(
+        Authentication auth,
+        @PathVariable String executionId,
+        @RequestParam(required = false) List<String> fields,
+        @RequestParam(defaultValue = "false") boolean summary,
+        HttpServletRequest servletRequest,
+        HttpServletResponse servletResponse
+    ) throws IOException {
+        log.info("{} getting execution {}", auth.getPrincipal(), executionId);
+        if (!summary && fields == null && passthrough.isEnabled()) {
+            passthrough.get(bulkheads.workflow(), "workflow.get", List.of("workflow", executionId), Map.of(), servletRequest, servletResponse);
+            return null;
+        }
+        var execution = executionWatcher.fetch(executionId, summary || fields == null || ExecutionWatcher.needsTasks(fields));
+        if (summary) {
+            var projected = executionWatcher.summarize(execution);
+            if (fields != null) {
+                projected.setAll(ExecutionWatcher.project(execution, fields));
+            }
+            return projected;
+        }
+        return fields != null ? ExecutionWatcher.project(execution, fields) : execution;
+    }
+
+    @GetMapping("execution/{executionId}/stream")
+    public SseEmitter streamExecution(
         Authentication auth,
         @PathVariable String executionId
     ) {
-        log.info("{} getting execution {}", auth.getPrincipal(), executionId);
-        ConductorClientRequest request = ConductorClientRequest.builder()
-            .method(ConductorClientRequest.Method.GET)
-            .path("/workflow/{workflowId}")
-            .addPathParam("workflowId", executionId)
-            .build();
-        return client.execute(request, new TypeReference<>() {}).getData();
+        log.info("{} streaming execution {}", auth.getPrincipal(), executionId);
+        return executionWatcher.watch(executionId);
     }
 
     @PostMapping("signal/{workflowId}")
-    public SignalResponse signal(
+    public ResponseEntity<?> signal(
         @PathVariable String workflowId,
         @RequestBody Map<String, Object> input,
         @RequestParam(defaultValue = "false") boolean async
-    ) throws JsonProcessingException {
-        String inputString = objectMapper.writeValueAsString(input);
-        log.info("Sending signal to {} ({})", workflowId, inputString);
+    ) {
+        auditLog.record("signal", input, "Sending signal to {}", workflowId);
         if (async) {
-            taskClient.signalAsync(workflowId, Task.Status.COMPLETED, input);
-            return null;
+            var status = signalDispatcher.enqueue(workflowId, input);
+            return ResponseEntity.accepted()
+                .location(URI.create("signal-status/" + status.signalId()))
+                .body(status);
         }
-        return taskClient.signal(workflowId, Task.Status.COMPLETED, input);
+        return ResponseEntity.ok(bulkheads.workflow().call("workflow.signal", () -> taskClient.signal(workflowId, Task.Status.COMPLETED, input)));
+    }
+
+    @GetMapping("signal-status/{signalId}")
+    public SignalDispatcher.SignalStatus signalStatus(@PathVariable String signalId) {
+        return signalDispatcher.status(signalId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("workflow-def/{name}")
-    public WorkflowDef getWorkflowDef(
+    public ResponseEntity<byte[]> getWorkflowDef(
         Authentication auth,
         @PathVariable String name
     ) {
         log.info("{} getting workflow definition {}", auth.getPrincipal(), name);
-        return metadataClient.getWorkflowDef(name, null);
+        return cachedMetadata(MetadataCache.Type.WORKFLOW_DEF, name);
     }
 
     @GetMapping("schema/{name}")
-    public Object getSchema(
+    public ResponseEntity<byte[]> getSchema(
         Authentication auth,
         @PathVariable String name
     ) {
         log.info("{} getting schema {}", auth.getPrincipal(), name);
-        var request = ConductorClientRequest.builder()
-            .method(GET)
-            .path("/schema/{name}")
-            .addPathParam("name", name)
-            .build();
-        ConductorClientResponse<Object> resp = client.execute(request, new TypeReference<>() {});
-        return resp.getData();
+        return cachedMetadata(MetadataCache.Type.SCHEMA, name);
+    }
+
+    @GetMapping("metadata-cache/stats")
+    public MetadataCache.Stats metadataCacheStats() {
+        return metadataCache.stats();
+    }
+
+    @DeleteMapping("metadata-cache")
+    public void invalidateMetadataCache(
+        Authentication auth,
+        @RequestParam(required = false) MetadataCache.Type type,
+        @RequestParam(required = false) String name
+    ) {
+        log.info("{} invalidating metadata cache {} {}", auth.getPrincipal(), type, name);
+        metadataCache.invalidate(type, name);
+    }
+
+    private ResponseEntity<byte[]> cachedMetadata(MetadataCache.Type type, String name) {
+        var entry = metadataCache.get(type, name);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(entry.etag())
+            .body(entry.body());
     }
 
     @DeleteMapping("terminate/{workflowId}")
@@ -250,6 +457,9 @@ public class OrkesService {
         @RequestParam(required = false) String reason
     ) {
         log.info("{} terminating workflow {}", auth.getPrincipal(), workflowId);
-        workflowClient.terminateWorkflow(workflowId,reason);
+        bulkheads.workflow().call("workflow.terminate", () -> {
+            workflowClient.terminateWorkflow(workflowId,reason);
+            return null;
+        });
     }
 }
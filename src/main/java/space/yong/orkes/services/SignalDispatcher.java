@@ -0,0 +1,246 @@
+package space.yong.orkes.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.conductor.common.metadata.tasks.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.orkes.conductor.client.http.OrkesTaskClient;
+import io.orkes.conductor.client.model.SignalResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import space.yong.orkes.config.Bulkheads;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class SignalDispatcher {
+    private final OrkesTaskClient taskClient;
+    private final Bulkheads bulkheads;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService outboundExecutor;
+    private final List<BlockingQueue<Signal>> lanes = new ArrayList<>();
+    private final Map<String, Deque<Signal>> parked = new ConcurrentHashMap<>();
+    private final Cache<String, SignalStatus> statuses;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Timer lag;
+    private final Counter failures;
+    private final Counter retries;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final boolean coalesce;
+    private volatile boolean running = true;
+
+    public enum State { QUEUED, RETRYING, DELIVERED, COALESCED, FAILED }
+    public record SignalStatus(String signalId, String workflowId, State state, int attempts, String coalescedInto, String error, SignalResponse response, Instant updatedAt) {}
+    private record Signal(String signalId, String workflowId, Map<String, Object> output, long enqueuedAt, int attempts) {
+        Signal retry() {
+            return new Signal(signalId, workflowId, output, enqueuedAt, attempts + 1);
+        }
+    }
+
+    public SignalDispatcher(
+        OrkesTaskClient taskClient,
+        Bulkheads bulkheads,
+        TaskScheduler taskScheduler,
+        MeterRegistry registry,
+        ExecutorService outboundExecutor,
+        @Value("${signals.lanes}") int laneCount,
+        @Value("${signals.capacity}") int capacity,
+        @Value("${signals.batch-size}") int batchSize,
+        @Value("${signals.max-attempts}") int maxAttempts,
+        @Value("${signals.initial-backoff}") Duration initialBackoff,
+        @Value("${signals.max-backoff}") Duration maxBackoff,
+        @Value("${signals.coalesce}") boolean coalesce,
+        @Value("${signals.status-ttl}") Duration statusTtl
+    ) {
+        this.taskClient = taskClient;
+        this.bulkheads = bulkheads;
+        this.taskScheduler = taskScheduler;
+        this.outboundExecutor = outboundExecutor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.coalesce = coalesce;
+        this.statuses = Caffeine.newBuilder()
+            .expireAfterWrite(statusTtl)
+            .build();
+        Gauge.builder("signal.queue.depth", depth, AtomicInteger::get).register(registry);
+        this.lag = Timer.builder("signal.lag").register(registry);
+        this.failures = Counter.builder("signal.failures").register(registry);
+        this.retries = Counter.builder("signal.retries").register(registry);
+        this.coalesced = Counter.builder("signal.coalesced").register(registry);
+        this.rejected = Counter.builder("signal.rejected").register(registry);
+        for (int i = 0; i < laneCount; i++) {
+            var lane = new ArrayBlockingQueue<Signal>(Math.max(1, capacity / laneCount));
+            lanes.add(lane);
+            outboundExecutor.execute(() -> run(lane));
+        }
+    }
+
+    public SignalStatus enqueue(String workflowId, Map<String, Object> output) {
+        var signal = new Signal(UUID.randomUUID().toString(), workflowId, output, System.nanoTime(), 0);
+        var status = new SignalStatus(signal.signalId(), workflowId, State.QUEUED, 0, null, null, null, Instant.now());
+        statuses.put(signal.signalId(), status);
+        if (!offer(signal)) {
+            statuses.invalidate(signal.signalId());
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Signal queue is full");
+        }
+        return status;
+    }
+
+    private boolean offer(Signal signal) {
+        depth.incrementAndGet();
+        if (lanes.get(Math.floorMod(signal.workflowId().hashCode(), lanes.size())).offer(signal)) {
+            return true;
+        }
+        depth.decrementAndGet();
+        return false;
+    }
+
+    public Optional<SignalStatus> status(String signalId) {
+        return Optional.ofNullable(statuses.getIfPresent(signalId));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void run(BlockingQueue<Signal> lane) {
+        var batch = new ArrayList<Signal>(batchSize);
+        while (running) {
+            try {
+                var first = lane.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                lane.drainTo(batch, batchSize - 1);
+                depth.addAndGet(-batch.size());
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Signal lane failed to dispatch batch", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<Signal> batch) {
+        Map<String, Signal> lastDelivered = new HashMap<>();
+        for (var signal : batch) {
+            lag.record(System.nanoTime() - signal.enqueuedAt(), TimeUnit.NANOSECONDS);
+            if (park(signal)) {
+                lastDelivered.remove(signal.workflowId());
+                continue;
+            }
+            var previous = lastDelivered.get(signal.workflowId());
+            if (coalesce && previous != null && previous.output().equals(signal.output())) {
+                coalesced.increment();
+                update(signal, State.COALESCED, signal.attempts(), previous.signalId(), null, null);
+                continue;
+            }
+            if (deliver(signal) == State.DELIVERED) {
+                lastDelivered.put(signal.workflowId(), signal);
+            } else {
+                lastDelivered.remove(signal.workflowId());
+            }
+        }
+    }
+
+    private boolean park(Signal signal) {
+        return parked.computeIfPresent(signal.workflowId(), (key, queue) -> {
+            queue.add(signal);
+            return queue;
+        }) != null;
+    }
+
+    private Signal unpark(String workflowId) {
+        var next = new Signal[1];
+        parked.computeIfPresent(workflowId, (key, queue) -> {
+            next[0] = queue.poll();
+            return next[0] == null ? null : queue;
+        });
+        return next[0];
+    }
+
+    private State deliver(Signal signal) {
+        var attempt = signal.retry();
+        try {
+            var response = bulkheads.workflow().call("workflow.signal-async", () ->
+                taskClient.signal(signal.workflowId(), Task.Status.COMPLETED, signal.output())
+            );
+            update(attempt, State.DELIVERED, attempt.attempts(), null, null, response);
+            return State.DELIVERED;
+        } catch (RuntimeException e) {
+            if (attempt.attempts() >= maxAttempts || !running) {
+                log.warn("Giving up on signal {} to {} after {} attempts", signal.signalId(), signal.workflowId(), attempt.attempts(), e);
+                failures.increment();
+                update(attempt, State.FAILED, attempt.attempts(), null, e.getMessage(), null);
+                return State.FAILED;
+            }
+            retries.increment();
+            update(attempt, State.RETRYING, attempt.attempts(), null, e.getMessage(), null);
+            parked.computeIfAbsent(signal.workflowId(), key -> new ArrayDeque<>());
+            taskScheduler.schedule(
+                () -> outboundExecutor.execute(() -> resume(attempt)),
+                Instant.now().plus(backoff(attempt.attempts()))
+            );
+            return State.RETRYING;
+        }
+    }
+
+    private void resume(Signal signal) {
+        for (var next = signal; next != null; next = unpark(next.workflowId())) {
+            if (!running) {
+                failures.increment();
+                update(next, State.FAILED, next.attempts(), null, "Dispatcher stopped", null);
+            } else if (deliver(next) == State.RETRYING) {
+                return;
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(millis, maxBackoff.toMillis()));
+    }
+
+    private void update(Signal signal, State state, int attempts, String coalescedInto, String error, SignalResponse response) {
+        statuses.put(signal.signalId(), new SignalStatus(
+            signal.signalId(), signal.workflowId(), state, attempts, coalescedInto, error, response, Instant.now()
+        ));
+    }
+}
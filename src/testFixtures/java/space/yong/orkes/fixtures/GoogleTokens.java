@@ -0,0 +1,106 @@
+package space.yong.orkes.fixtures;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.webtoken.JsonWebSignature;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public final class GoogleTokens {
+    public static final String ISSUER = "https://accounts.google.com";
+    public static final String KEY_ID = "fixture-key";
+
+    private final KeyPair keyPair;
+    private final String certificate;
+
+    public GoogleTokens() {
+        try {
+            var generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keyPair = generator.generateKeyPair();
+            this.certificate = selfSign(keyPair);
+        } catch (GeneralSecurityException | OperatorCreationException | IOException e) {
+            throw new IllegalStateException("Failed to create fixture signing key", e);
+        }
+    }
+
+    public String sign(String email, String audience, Duration ttl) {
+        var now = Instant.now();
+        var header = new JsonWebSignature.Header()
+            .setAlgorithm("RS256")
+            .setType("JWT")
+            .setKeyId(KEY_ID);
+        var payload = new GoogleIdToken.Payload()
+            .setEmail(email)
+            .setEmailVerified(true)
+            .setIssuer(ISSUER)
+            .setAudience(audience)
+            .setSubject(email)
+            .setIssuedAtTimeSeconds(now.getEpochSecond())
+            .setExpirationTimeSeconds(now.plus(ttl).getEpochSecond());
+        try {
+            return JsonWebSignature.signUsingRsaSha256(keyPair.getPrivate(), GsonFactory.getDefaultInstance(), header, payload);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to sign fixture token", e);
+        }
+    }
+
+    public String certsJson() {
+        try {
+            return new ObjectMapper().writeValueAsString(Map.of(KEY_ID, certificate));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public GoogleIdTokenVerifier verifier(String audience) {
+        var transport = new MockHttpTransport.Builder()
+            .setLowLevelHttpResponse(new MockLowLevelHttpResponse()
+                .setContentType(Json.MEDIA_TYPE)
+                .setContent(certsJson())
+                .addHeader("Cache-Control", "public, max-age=86400"))
+            .build();
+        var keys = new GooglePublicKeysManager.Builder(transport, GsonFactory.getDefaultInstance())
+            .setPublicCertsEncodedUrl("https://localhost/oauth2/v1/certs")
+            .build();
+        return new GoogleIdTokenVerifier.Builder(keys)
+            .setAudience(List.of(audience))
+            .build();
+    }
+
+    private static String selfSign(KeyPair keyPair) throws OperatorCreationException, IOException {
+        var now = Instant.now();
+        var subject = new X500Name("CN=orkes-demo-fixtures");
+        var holder = new JcaX509v3CertificateBuilder(
+            subject,
+            BigInteger.valueOf(now.toEpochMilli()),
+            Date.from(now.minus(Duration.ofDays(1))),
+            Date.from(now.plus(Duration.ofDays(365))),
+            subject,
+            keyPair.getPublic()
+        ).build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()));
+        var encoder = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII));
+        return "-----BEGIN CERTIFICATE-----\n" + encoder.encodeToString(holder.getEncoded()) + "\n-----END CERTIFICATE-----\n";
+    }
+}
@@ -0,0 +1,31 @@
+package space.yong.orkes.fixtures;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public final class Payloads {
+    private Payloads() {}
+
+    public static byte[] workflowInput() {
+        return load("workflow-input.json");
+    }
+
+    public static byte[] execution() {
+        return load("execution.json");
+    }
+
+    public static byte[] invoiceAnalyzeResult() {
+        return load("invoice-analyze-result.json");
+    }
+
+    private static byte[] load(String name) {
+        try (var in = Payloads.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package space.yong.orkes.fixtures;
+
+import com.azure.ai.formrecognizer.documentanalysis.DocumentAnalysisClientBuilder;
+import com.azure.ai.formrecognizer.documentanalysis.models.DocumentField;
+import com.azure.core.credential.AzureKeyCredential;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.BinaryData;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+public final class RecordedInvoices {
+    public static final String MODEL = "prebuilt-invoice";
+    public static final String OPERATION_PATH = "formrecognizer/documentModels/" + MODEL + "/analyzeResults/";
+    private static final String ENDPOINT = "https://recorded.cognitiveservices.azure.com/";
+
+    private RecordedInvoices() {}
+
+    public static Map<String, DocumentField> fields() {
+        var client = new DocumentAnalysisClientBuilder()
+            .endpoint(ENDPOINT)
+            .credential(new AzureKeyCredential("recorded"))
+            .httpClient(new ReplayHttpClient(Payloads.invoiceAnalyzeResult()))
+            .buildClient();
+        var poller = client.beginAnalyzeDocument(MODEL, BinaryData.fromBytes(new byte[] {0}));
+        poller.setPollInterval(Duration.ofMillis(1));
+        return poller.getFinalResult().getDocuments().getFirst().getFields();
+    }
+
+    private record ReplayHttpClient(byte[] result) implements HttpClient {
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            if (request.getHttpMethod() == HttpMethod.POST) {
+                var headers = new HttpHeaders()
+                    .set(HttpHeaderName.fromString("Operation-Location"), ENDPOINT + OPERATION_PATH + "recorded?api-version=2023-07-31");
+                return Mono.just(new Replayed(request, 202, headers, new byte[0]));
+            }
+            var headers = new HttpHeaders().set(HttpHeaderName.CONTENT_TYPE, "application/json");
+            return Mono.just(new Replayed(request, 200, headers, result));
+        }
+    }
+
+    private static final class Replayed extends HttpResponse {
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        Replayed(HttpRequest request, int status, HttpHeaders headers, byte[] body) {
+            super(request);
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @Deprecated
+        public String getHeaderValue(String name) {
+            return headers.getValue(HttpHeaderName.fromString(name));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.just(ByteBuffer.wrap(body));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just(new String(body, charset));
+        }
+    }
+}